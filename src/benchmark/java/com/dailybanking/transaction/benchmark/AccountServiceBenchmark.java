@@ -0,0 +1,115 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.service.AccountService;
+import com.dailybanking.transaction.service.BalanceLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000.00");
+
+    @State(Scope.Benchmark)
+    public static class Accounts {
+
+        @Param({"10000"})
+        public int accounts;
+
+        AccountService accountService;
+        String[] accountIds;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            accountService = new AccountService(new InMemoryLedger(), 1024, 0);
+            accountIds = new String[accounts];
+            for (int i = 0; i < accounts; i++) {
+                accountIds[i] = "acc-" + i;
+                accountService.deposit(accountIds[i], OPENING_BALANCE);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            random = new SplittableRandom(Thread.currentThread().threadId());
+        }
+
+        String next(Accounts accounts) {
+            return accounts.accountIds[random.nextInt(accounts.accounts)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void depositSingleThread(Accounts accounts, Picker picker) {
+        accounts.accountService.deposit(picker.next(accounts), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void depositContended(Accounts accounts, Picker picker) {
+        accounts.accountService.deposit(picker.next(accounts), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transferSingleThread(Accounts accounts, Picker picker) {
+        accounts.accountService.transfer(picker.next(accounts), picker.next(accounts), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void transferContended(Accounts accounts, Picker picker) {
+        accounts.accountService.transfer(picker.next(accounts), picker.next(accounts), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public BigDecimal balanceRead(Accounts accounts, Picker picker) {
+        return accounts.accountService.getBalance(picker.next(accounts));
+    }
+
+    static final class InMemoryLedger extends BalanceLedger {
+
+        InMemoryLedger() {
+            super(null, null, null, new SimpleMeterRegistry(), 1, 1);
+        }
+
+        @Override
+        public void append(String accountId, BigDecimal delta) {
+        }
+
+        @Override
+        public Map<String, BigDecimal> recover() {
+            return Map.of();
+        }
+    }
+}
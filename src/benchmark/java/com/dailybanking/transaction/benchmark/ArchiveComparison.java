@@ -0,0 +1,166 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.ArchiveReport;
+import com.dailybanking.transaction.dto.BatchItemResult;
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionArchiver;
+import com.dailybanking.transaction.service.TransactionService;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class ArchiveComparison {
+
+    private ArchiveComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int oldRows = 500_000;
+        int recentRows = 50_000;
+        int accounts = 5_000;
+        int samples = 20_000;
+        boolean postgres = false;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--old-rows=")) {
+                oldRows = Integer.parseInt(value);
+            } else if (arg.startsWith("--recent-rows=")) {
+                recentRows = Integer.parseInt(value);
+            } else if (arg.startsWith("--accounts=")) {
+                accounts = Integer.parseInt(value);
+            } else if (arg.startsWith("--samples=")) {
+                samples = Integer.parseInt(value);
+            } else if (arg.equals("--postgres")) {
+                postgres = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        PostgreSQLContainer<?> container = null;
+        Path directory = Files.createTempDirectory("archive-comparison");
+        List<String> properties = new ArrayList<>(List.of(
+                "app.archive.directory=" + directory,
+                "app.history.recent.enabled=false",
+                "app.transaction-cache.max-bytes=0"));
+        if (postgres) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            properties.add("spring.datasource.url=" + container.getJdbcUrl());
+            properties.add("spring.datasource.username=" + container.getUsername());
+            properties.add("spring.datasource.password=" + container.getPassword());
+        }
+        ConfigurableApplicationContext context =
+                BenchmarkContext.start("archive-comparison", properties.toArray(String[]::new));
+        try {
+            TransactionService transactionService = context.getBean(TransactionService.class);
+            List<String> oldIds = seed(transactionService, oldRows, accounts);
+            Thread.sleep(5);
+            Instant cutoff = Instant.now();
+            Thread.sleep(5);
+            List<String> recentIds = seed(transactionService, recentRows, accounts);
+
+            System.out.printf("%-8s %12s %16s %16s %-14s %10s %10s%n",
+                    "phase", "hot rows", "hot bytes", "archive bytes", "query", "p50 us", "p99 us");
+            report(context, "before", directory, postgres, transactionService, oldIds, recentIds, accounts, samples);
+
+            ArchiveReport archived = context.getBean(TransactionArchiver.class).archive(cutoff);
+            System.out.printf("archived %,d transactions into %d segments in %,d ms%n",
+                    archived.getTransactions(), archived.getSegments(), archived.getElapsedMillis());
+
+            report(context, "after", directory, postgres, transactionService, oldIds, recentIds, accounts, samples);
+        } finally {
+            context.close();
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private static List<String> seed(TransactionService transactionService, int rows, int accounts) {
+        List<String> ids = new ArrayList<>(rows);
+        for (int offset = 0; offset < rows; offset += BatchTransactionRequest.MAX_ITEMS) {
+            List<BatchTransactionItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(rows, offset + BatchTransactionRequest.MAX_ITEMS); i++) {
+                BatchTransactionItem item = new BatchTransactionItem();
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId("acc-" + (i % accounts));
+                item.setAmount(BigDecimal.TEN);
+                item.setCurrency("EUR");
+                items.add(item);
+            }
+            BatchTransactionRequest request = new BatchTransactionRequest();
+            request.setItems(items);
+            for (BatchItemResult result : transactionService.submitBatch(request).getResults()) {
+                ids.add(result.getTransaction().getTransactionId());
+            }
+        }
+        return ids;
+    }
+
+    private static void report(ConfigurableApplicationContext context,
+                               String phase,
+                               Path directory,
+                               boolean postgres,
+                               TransactionService transactionService,
+                               List<String> oldIds,
+                               List<String> recentIds,
+                               int accounts,
+                               int samples) throws IOException {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Long hotRows = jdbc.queryForObject("select count(*) from transactions", Long.class);
+        String hotBytes = postgres
+                ? String.format("%,d", jdbc.queryForObject("select pg_total_relation_size('transactions')", Long.class))
+                : "-";
+        long archiveBytes;
+        try (Stream<Path> files = Files.list(directory)) {
+            archiveBytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        String sizes = String.format("%-8s %,12d %16s %,16d", phase, hotRows, hotBytes, archiveBytes);
+
+        measure(sizes, "get old", samples,
+                random -> transactionService.getById(oldIds.get(random.nextInt(oldIds.size()))));
+        measure(sizes, "get recent", samples,
+                random -> transactionService.getById(recentIds.get(random.nextInt(recentIds.size()))));
+        measure(sizes, "first page", samples,
+                random -> transactionService.findByAccount("acc-" + random.nextInt(accounts), null, 50));
+        measure(sizes, "full history", Math.max(1, samples / 10), random -> {
+            String accountId = "acc-" + random.nextInt(accounts);
+            TransactionPage page = transactionService.findByAccount(accountId, null, TransactionPage.MAX_PAGE_SIZE);
+            while (page.getNextCursor() != null) {
+                page = transactionService.findByAccount(accountId, page.getNextCursor(), TransactionPage.MAX_PAGE_SIZE);
+            }
+        });
+    }
+
+    private static void measure(String sizes, String query, int samples, Consumer<ThreadLocalRandom> operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < samples / 4; i++) {
+            operation.accept(random);
+        }
+        Histogram latencies = new Histogram(3);
+        for (int i = 0; i < samples; i++) {
+            long started = System.nanoTime();
+            operation.accept(random);
+            latencies.recordValue(System.nanoTime() - started);
+        }
+        System.out.printf("%s %-14s %10.1f %10.1f%n", sizes, query,
+                latencies.getValueAtPercentile(50) / 1e3,
+                latencies.getValueAtPercentile(99) / 1e3);
+    }
+}
@@ -0,0 +1,67 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.service.BalanceBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class BalanceUpdateBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+    private static final long AMOUNT_MINOR = 125L;
+
+    @Param({"1024"})
+    public int accounts;
+
+    private String[] accountIds;
+    private BalanceBook book;
+    private Map<String, BigDecimal> decimalBalances;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        accountIds = new String[accounts];
+        book = new BalanceBook(1024);
+        decimalBalances = new ConcurrentHashMap<>();
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "acc-" + i;
+            book.credit(accountIds[i], 0L);
+            decimalBalances.put(accountIds[i], BigDecimal.ZERO);
+        }
+    }
+
+    @Benchmark
+    public void minorUnitCredit() {
+        book.credit(nextAccount(), AMOUNT_MINOR);
+    }
+
+    @Benchmark
+    public void decimalCompute() {
+        decimalBalances.compute(nextAccount(), (key, value) -> value.add(AMOUNT));
+    }
+
+    private String nextAccount() {
+        cursor = (cursor + 1) & (accounts - 1);
+        return accountIds[cursor];
+    }
+}
@@ -0,0 +1,79 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [tolerance-percent]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.value, "new", now.unit);
+                continue;
+            }
+            double change = (now.value - before.value) / before.value * 100;
+            boolean regressed = now.higherIsBetter() ? change < -tolerance : change > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value, now.value,
+                    change, now.unit, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, tolerance);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.dailybanking.transaction.benchmark.", ""));
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            name.append(" [").append(run.path("threads").asInt()).append("t]");
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(name.toString(), new Score(run.path("mode").asText(),
+                    metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static final class Score {
+
+        private final String mode;
+        private final double value;
+        private final String unit;
+
+        Score(String mode, double value, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
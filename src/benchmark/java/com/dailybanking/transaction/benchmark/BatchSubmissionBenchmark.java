@@ -0,0 +1,86 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.BatchTransactionResponse;
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchSubmissionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Param({"100", "1000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("batch-bench");
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleDeposits() {
+        for (int i = 0; i < items; i++) {
+            DepositRequest request = new DepositRequest();
+            request.setAccountId("acc-" + (i % 100));
+            request.setAmount(AMOUNT);
+            request.setCurrency("EUR");
+            request.setIdempotencyKey("single-" + sequence++);
+            transactionService.deposit(request);
+        }
+        return items;
+    }
+
+    @Benchmark
+    public BatchTransactionResponse batchedDeposits() {
+        List<BatchTransactionItem> batch = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            BatchTransactionItem item = new BatchTransactionItem();
+            item.setType(TransactionType.DEPOSIT);
+            item.setAccountId("acc-" + (i % 100));
+            item.setAmount(AMOUNT);
+            item.setCurrency("EUR");
+            item.setIdempotencyKey("batch-" + sequence++);
+            batch.add(item);
+        }
+        BatchTransactionRequest request = new BatchTransactionRequest();
+        request.setItems(batch);
+        return transactionService.submitBatch(request);
+    }
+}
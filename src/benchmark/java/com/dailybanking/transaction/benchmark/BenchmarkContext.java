@@ -0,0 +1,72 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.TransactionServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(TransactionServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(StubKafkaTemplate::register)
+                .run(arguments(databaseName, properties));
+    }
+
+    static ConfigurableApplicationContext startWithKafka(String databaseName,
+                                                         String bootstrapServers,
+                                                         String... properties) {
+        return new SpringApplicationBuilder(TransactionServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments(databaseName, properties, "spring.kafka.bootstrap-servers=" + bootstrapServers));
+    }
+
+    static ConfigurableApplicationContext startWeb(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(TransactionServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(StubKafkaTemplate::register)
+                .run(arguments(databaseName, properties, "server.port=0"));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    private static String[] arguments(String databaseName, String[] properties, String... extra) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String property : List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.main.banner-mode=off",
+                "app.outbox.relay.enabled=false",
+                "logging.level.root=WARN")) {
+            put(arguments, property);
+        }
+        for (String property : extra) {
+            put(arguments, property);
+        }
+        for (String property : properties) {
+            put(arguments, property);
+        }
+        if (arguments.get("spring.datasource.url").startsWith("jdbc:postgresql:")) {
+            arguments.putIfAbsent("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        }
+        return arguments.entrySet().stream()
+                .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static void put(Map<String, String> arguments, String property) {
+        int separator = property.indexOf('=');
+        arguments.put(property.substring(0, separator), property.substring(separator + 1));
+    }
+}
@@ -0,0 +1,56 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.service.TransactionEventCodec;
+import com.dailybanking.transaction.service.TransactionOutbox;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+public final class EventSizeComparison {
+
+    private EventSizeComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ObjectWriter jsonWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(TransactionEvent.class);
+        SplittableRandom random = new SplittableRandom(7);
+
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (int i = 0; i < events; i++) {
+            TransactionEvent event = sample(random, i);
+            jsonBytes += jsonWriter.writeValueAsBytes(event).length;
+            binaryBytes += TransactionEventCodec.encode(event).length;
+        }
+        System.out.printf("%-8s %14s %12s%n", "format", "bytes", "bytes/event");
+        System.out.printf("%-8s %,14d %12.1f%n", "json", jsonBytes, jsonBytes / (double) events);
+        System.out.printf("%-8s %,14d %12.1f%n", "binary", binaryBytes, binaryBytes / (double) events);
+        System.out.printf("binary is %.1f%% of json%n", 100.0 * binaryBytes / jsonBytes);
+    }
+
+    private static TransactionEvent sample(SplittableRandom random, int sequence) {
+        boolean transfer = random.nextInt(3) == 0;
+        String source = "acc-" + random.nextInt(1_000_000);
+        TransactionEvent event = new TransactionEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType("transaction.completed");
+        event.setTransactionId(UUID.randomUUID().toString());
+        event.setAccountId(source);
+        event.setEntryType(random.nextBoolean() ? TransactionOutbox.DEBIT : TransactionOutbox.CREDIT);
+        event.setAccountSequence(1 + random.nextInt(sequence + 1));
+        event.setBalanceAfter(BigDecimal.valueOf(random.nextLong(10_000_000L), 2));
+        event.setSourceAccountId(source);
+        event.setTargetAccountId(transfer ? "acc-" + random.nextInt(1_000_000) : null);
+        event.setAmount(BigDecimal.valueOf(1 + random.nextLong(500_000L), 2));
+        event.setCurrency("EUR");
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,169 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.BinaryTransactionEventDeserializer;
+import com.dailybanking.transaction.service.OutboxRelay;
+import com.dailybanking.transaction.service.TransactionService;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class EventStreamThroughput {
+
+    private EventStreamThroughput() {
+    }
+
+    public static void main(String[] args) {
+        String configurations = "16384:0:none,65536:5:lz4,262144:20:zstd,65536:5:lz4:binary";
+        int transactions = 200_000;
+        int accounts = 10_000;
+        int partitions = 12;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--configs=")) {
+                configurations = value;
+            } else if (arg.startsWith("--transactions=")) {
+                transactions = Integer.parseInt(value);
+            } else if (arg.startsWith("--accounts=")) {
+                accounts = Integer.parseInt(value);
+            } else if (arg.startsWith("--partitions=")) {
+                partitions = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        String[] configs = configurations.split(",");
+        String[] topics = new String[configs.length];
+        for (int i = 0; i < configs.length; i++) {
+            topics[i] = "events-" + i;
+        }
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, topics);
+        broker.afterPropertiesSet();
+        try {
+            System.out.printf("%-26s %10s %12s %12s %12s %10s%n",
+                    "batch:linger:codec:fmt", "events", "events/s", "batch avg B", "compression", "gaps");
+            for (int i = 0; i < configs.length; i++) {
+                String[] parts = configs[i].split(":");
+                String format = parts.length > 3 ? parts[3] : "json";
+                ConfigurableApplicationContext context = BenchmarkContext.startWithKafka("events-" + i,
+                        broker.getBrokersAsString(),
+                        "app.kafka.transaction-topic=" + topics[i],
+                        "spring.kafka.producer.batch-size=" + parts[0],
+                        "spring.kafka.producer.properties.linger.ms=" + parts[1],
+                        "spring.kafka.producer.compression-type=" + parts[2],
+                        "app.kafka.event-format=" + format);
+                try {
+                    run(context, configs[i], topics[i], broker.getBrokersAsString(), transactions, accounts);
+                } finally {
+                    context.close();
+                }
+            }
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(ConfigurableApplicationContext context,
+                            String config,
+                            String topic,
+                            String bootstrapServers,
+                            int transactions,
+                            int accounts) {
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        OutboxRelay outboxRelay = context.getBean(OutboxRelay.class);
+        KafkaTemplate<String, TransactionEvent> kafkaTemplate = context.getBean(KafkaTemplate.class);
+
+        seed(transactionService, transactions, accounts);
+        long started = System.nanoTime();
+        int events = outboxRelay.drain();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        kafkaTemplate.flush();
+
+        Map<MetricName, ? extends Metric> metrics = kafkaTemplate.metrics();
+        System.out.printf("%-26s %10d %12.0f %12.0f %12.2f %10d%n", config, events, events / seconds,
+                producerMetric(metrics, "batch-size-avg"), producerMetric(metrics, "compression-rate-avg"),
+                countGaps(topic, bootstrapServers, events));
+    }
+
+    private static void seed(TransactionService transactionService, int transactions, int accounts) {
+        SplittableRandom random = new SplittableRandom(42);
+        int deposits = Math.min(accounts, transactions);
+        List<BatchTransactionItem> items = new ArrayList<>(BatchTransactionRequest.MAX_ITEMS);
+        for (int i = 0; i < transactions; i++) {
+            BatchTransactionItem item = new BatchTransactionItem();
+            item.setCurrency("EUR");
+            if (i < deposits) {
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId("stream-" + i);
+                item.setAmount(new BigDecimal("1000000.00"));
+            } else {
+                item.setType(TransactionType.TRANSFER);
+                item.setAccountId("stream-" + random.nextInt(accounts));
+                item.setTargetAccountId("stream-" + random.nextInt(accounts));
+                item.setAmount(BigDecimal.ONE);
+            }
+            items.add(item);
+            if (items.size() == BatchTransactionRequest.MAX_ITEMS || i == transactions - 1) {
+                BatchTransactionRequest request = new BatchTransactionRequest();
+                request.setItems(items);
+                transactionService.submitBatch(request);
+                items = new ArrayList<>(BatchTransactionRequest.MAX_ITEMS);
+            }
+        }
+    }
+
+    private static double producerMetric(Map<MetricName, ? extends Metric> metrics, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : metrics.entrySet()) {
+            if (metric.getKey().group().equals("producer-metrics") && metric.getKey().name().equals(name)) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static long countGaps(String topic, String bootstrapServers, int expected) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, topic + "-verifier");
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        Map<String, Long> lastSequence = new HashMap<>();
+        long gaps = 0;
+        int received = 0;
+        try (KafkaConsumer<String, TransactionEvent> consumer = new KafkaConsumer<>(properties,
+                new StringDeserializer(), new BinaryTransactionEventDeserializer())) {
+            consumer.subscribe(List.of(topic));
+            long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+            while (received < expected && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, TransactionEvent> record : consumer.poll(Duration.ofMillis(500))) {
+                    received++;
+                    long sequence = record.value().getAccountSequence();
+                    Long previous = lastSequence.put(record.key(), sequence);
+                    if (sequence != (previous == null ? 1L : previous + 1)) {
+                        gaps++;
+                    }
+                }
+            }
+        }
+        return gaps + (expected - received);
+    }
+}
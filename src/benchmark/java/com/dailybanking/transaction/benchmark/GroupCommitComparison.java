@@ -0,0 +1,130 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.service.GroupCommitCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class GroupCommitComparison {
+
+    private GroupCommitComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String modes = "off,8:200,32:500,64:1000,256:2000";
+        int clients = 64;
+        int seconds = 15;
+        boolean postgres = false;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--modes=")) {
+                modes = value;
+            } else if (arg.startsWith("--clients=")) {
+                clients = Integer.parseInt(value);
+            } else if (arg.startsWith("--duration=")) {
+                seconds = Integer.parseInt(value);
+            } else if (arg.equals("--postgres")) {
+                postgres = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        PostgreSQLContainer<?> container = null;
+        List<String> database = new ArrayList<>();
+        if (postgres) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            database.add("spring.datasource.url=" + container.getJdbcUrl());
+            database.add("spring.datasource.username=" + container.getUsername());
+            database.add("spring.datasource.password=" + container.getPassword());
+        }
+        try {
+            System.out.printf("%-12s %8s %12s %10s %10s %10s %12s%n",
+                    "mode", "clients", "writes/s", "p50 ms", "p99 ms", "p99.9 ms", "mean group");
+            int run = 0;
+            for (String mode : modes.split(",")) {
+                List<String> properties = new ArrayList<>(database);
+                if ("off".equals(mode)) {
+                    properties.add("app.group-commit.enabled=false");
+                } else {
+                    String[] parts = mode.split(":");
+                    properties.add("app.group-commit.enabled=true");
+                    properties.add("app.group-commit.max-batch-size=" + parts[0]);
+                    properties.add("app.group-commit.max-wait-micros=" + parts[1]);
+                }
+                properties.add("spring.datasource.hikari.maximum-pool-size=" + Math.max(10, clients));
+                ConfigurableApplicationContext context =
+                        BenchmarkContext.start("group-commit-" + run++, properties.toArray(String[]::new));
+                try {
+                    measure(context, mode, clients, seconds);
+                } finally {
+                    context.close();
+                }
+            }
+        } finally {
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private static void measure(ConfigurableApplicationContext context, String mode, int clients, int seconds)
+            throws InterruptedException {
+        GroupCommitCoordinator coordinator = context.getBean(GroupCommitCoordinator.class);
+        ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        LongAdder writes = new LongAdder();
+
+        run(coordinator, clients, TimeUnit.SECONDS.toNanos(3), null, null);
+        run(coordinator, clients, TimeUnit.SECONDS.toNanos(seconds), latencies, writes);
+
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        var groups = Search.in(meterRegistry).name("transaction.group.size").summary();
+        System.out.printf("%-12s %8d %12.0f %10.2f %10.2f %10.2f %12s%n", mode, clients,
+                writes.sum() / (double) seconds,
+                latencies.getValueAtPercentile(50) / 1e6,
+                latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getValueAtPercentile(99.9) / 1e6,
+                groups == null || groups.count() == 0 ? "-" : String.format("%.1f", groups.mean()));
+    }
+
+    private static void run(GroupCommitCoordinator coordinator,
+                            int clients,
+                            long durationNanos,
+                            ConcurrentHistogram latencies,
+                            LongAdder writes) throws InterruptedException {
+        long deadline = System.nanoTime() + durationNanos;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int client = 0; client < clients; client++) {
+            String accountId = "group-bench-" + client;
+            executor.execute(() -> {
+                DepositRequest request = new DepositRequest();
+                request.setAccountId(accountId);
+                request.setAmount(BigDecimal.ONE);
+                request.setCurrency("EUR");
+                while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+                    request.setIdempotencyKey(null);
+                    coordinator.deposit(request);
+                    if (latencies != null) {
+                        latencies.recordValue(System.nanoTime() - started);
+                        writes.increment();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,97 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryPaginationBenchmark {
+
+    private static final String ACCOUNT = "acc-merchant";
+    private static final int PAGE_SIZE = 50;
+    private static final int DEEP_PAGE = 1000;
+
+    @Param({"60000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("history-bench");
+        transactionService = context.getBean(TransactionService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+
+        for (int offset = 0; offset < rows; offset += BatchTransactionRequest.MAX_ITEMS) {
+            List<BatchTransactionItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(rows, offset + BatchTransactionRequest.MAX_ITEMS); i++) {
+                BatchTransactionItem item = new BatchTransactionItem();
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId(i % 4 == 0 ? ACCOUNT : "acc-" + (i % 500));
+                item.setAmount(BigDecimal.TEN);
+                item.setCurrency("EUR");
+                items.add(item);
+            }
+            BatchTransactionRequest request = new BatchTransactionRequest();
+            request.setItems(items);
+            transactionService.submitBatch(request);
+        }
+
+        String cursor = null;
+        for (int page = 1; page < Math.min(DEEP_PAGE, rows / 4 / PAGE_SIZE); page++) {
+            cursor = transactionService.findByAccount(ACCOUNT, cursor, PAGE_SIZE).getNextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Transaction> fullHistoryQuery() {
+        return transactionRepository.findBySourceAccountIdOrTargetAccountIdOrderByCreatedAtDesc(ACCOUNT, ACCOUNT);
+    }
+
+    @Benchmark
+    public TransactionPage firstPage() {
+        return transactionService.findByAccount(ACCOUNT, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TransactionPage deepPage() {
+        return transactionService.findByAccount(ACCOUNT, deepCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.service.BalanceBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotAccountBenchmark {
+
+    private static final String HOT_ACCOUNT = "merchant-settlement";
+    private static final long AMOUNT = 125L;
+
+    @Param({"striped", "sharded"})
+    public String layout;
+
+    @Param({"0"})
+    public int cells;
+
+    private BalanceBook book;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        book = new BalanceBook(1024, cells > 0 ? cells : Runtime.getRuntime().availableProcessors());
+        book.credit(HOT_ACCOUNT, 1_000_000_000L);
+        if ("sharded".equals(layout)) {
+            book.promote(HOT_ACCOUNT);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        int next;
+    }
+
+    @Benchmark
+    public long deposit() {
+        return book.credit(HOT_ACCOUNT, AMOUNT);
+    }
+
+    @Benchmark
+    public long depositAndWithdraw(Counter counter) {
+        if ((++counter.next & 3) == 0) {
+            return book.debit(HOT_ACCOUNT, AMOUNT);
+        }
+        return book.credit(HOT_ACCOUNT, AMOUNT);
+    }
+
+    @Benchmark
+    public long balanceRead() {
+        return book.balance(HOT_ACCOUNT);
+    }
+}
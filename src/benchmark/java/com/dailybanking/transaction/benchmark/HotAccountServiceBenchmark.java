@@ -0,0 +1,65 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotAccountServiceBenchmark {
+
+    private static final String HOT_ACCOUNT = "merchant-settlement";
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+
+    @Param({"striped", "sharded"})
+    public String layout;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("hot-service-bench",
+                "app.accounts.hot.detection-interval-ms=3600000",
+                "app.accounts.hot.pinned=" + ("sharded".equals(layout) ? HOT_ACCOUNT : ""));
+        transactionService = context.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponse deposit() {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(HOT_ACCOUNT);
+        request.setAmount(AMOUNT);
+        request.setCurrency("EUR");
+        request.setIdempotencyKey("hot-" + layout + "-" + sequence.incrementAndGet());
+        return transactionService.deposit(request);
+    }
+}
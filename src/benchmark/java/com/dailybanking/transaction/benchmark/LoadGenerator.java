@@ -0,0 +1,309 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public final class LoadGenerator {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER, HISTORY
+    }
+
+    private final Options options;
+    private final URI baseUri;
+    private final HttpClient http;
+    private final SplittableRandom random;
+    private final double[] zipfCdf;
+    private final double[] mixCdf;
+    private final Semaphore inFlight;
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new HashMap<>();
+    private final Map<Operation, LongAdder> rejected = new HashMap<>();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    private LoadGenerator(Options options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        this.random = new SplittableRandom(options.seed);
+        this.zipfCdf = "zipfian".equals(options.distribution)
+                ? TransferBenchmark.zipfCdf(options.accounts, options.skew)
+                : null;
+        this.mixCdf = options.mixCdf();
+        this.inFlight = new Semaphore(options.maxInFlight);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            rejected.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext context = BenchmarkContext.startWeb("load",
+                "app.outbox.relay.enabled=true",
+                "spring.threads.virtual.enabled=" + options.virtualThreads,
+                "server.tomcat.max-connections=" + (options.maxInFlight + 1000),
+                "server.tomcat.accept-count=" + options.maxInFlight);
+        try {
+            seed(context.getBean(TransactionService.class), options.accounts);
+            LoadGenerator generator = new LoadGenerator(options,
+                    URI.create("http://localhost:" + BenchmarkContext.port(context) + "/api/v1/transactions"));
+            generator.run();
+            StubKafkaTemplate kafka = context.getBean("kafkaTemplate", StubKafkaTemplate.class);
+            generator.report(System.out, kafka.sent());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(TransactionService transactionService, int accounts) {
+        for (int offset = 0; offset < accounts; offset += BatchTransactionRequest.MAX_ITEMS) {
+            List<BatchTransactionItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(accounts, offset + BatchTransactionRequest.MAX_ITEMS); i++) {
+                BatchTransactionItem item = new BatchTransactionItem();
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId(accountId(i));
+                item.setAmount(new BigDecimal("1000000.00"));
+                item.setCurrency("EUR");
+                items.add(item);
+            }
+            BatchTransactionRequest request = new BatchTransactionRequest();
+            request.setItems(items);
+            transactionService.submitBatch(request);
+        }
+    }
+
+    private void run() {
+        long meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long started = System.nanoTime();
+        long measureFrom = started + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intended = started;
+            while (intended < end) {
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = nextOperation();
+                HttpRequest request = request(operation);
+                boolean measured = intended >= measureFrom;
+                if (inFlight.tryAcquire()) {
+                    long intendedStart = intended;
+                    executor.execute(() -> execute(operation, request, intendedStart, measured));
+                } else if (measured) {
+                    shed.increment();
+                }
+                intended += "poisson".equals(options.arrival)
+                        ? (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos)
+                        : meanIntervalNanos;
+            }
+        }
+    }
+
+    private void execute(Operation operation, HttpRequest request, long intendedStart, boolean measured) {
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - intendedStart;
+            if (!measured) {
+                return;
+            }
+            latencies.get(operation).recordValue(latency);
+            if (response.statusCode() >= 500) {
+                serverErrors.increment();
+            } else if (response.statusCode() >= 400) {
+                rejected.get(operation).increment();
+            }
+        } catch (IOException ex) {
+            if (measured) {
+                clientErrors.increment();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private Operation nextOperation() {
+        double roll = random.nextDouble();
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < operations.length - 1; i++) {
+            if (roll < mixCdf[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private int nextAccount() {
+        return zipfCdf == null
+                ? random.nextInt(options.accounts)
+                : TransferBenchmark.zipfIndex(zipfCdf, random.nextDouble());
+    }
+
+    private HttpRequest request(Operation operation) {
+        int account = nextAccount();
+        return switch (operation) {
+            case DEPOSIT -> post("/deposit", "{\"accountId\":\"" + accountId(account)
+                    + "\",\"amount\":10.00,\"currency\":\"EUR\"}");
+            case WITHDRAW -> post("/withdraw", "{\"accountId\":\"" + accountId(account)
+                    + "\",\"amount\":10.00,\"currency\":\"EUR\"}");
+            case TRANSFER -> {
+                int target = nextAccount();
+                if (target == account) {
+                    target = (target + 1) % options.accounts;
+                }
+                yield post("/transfer", "{\"sourceAccountId\":\"" + accountId(account)
+                        + "\",\"targetAccountId\":\"" + accountId(target)
+                        + "\",\"amount\":10.00,\"currency\":\"EUR\"}");
+            }
+            case HISTORY -> HttpRequest.newBuilder(URI.create(baseUri + "?accountId=" + accountId(account) + "&limit=50"))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        };
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report(PrintStream out, long eventsRelayed) throws IOException {
+        Histogram total = new Histogram(3);
+        out.printf("%nTarget %d ops/s (%s arrivals), %s accounts over %d, %d s measured after %d s warmup%n",
+                options.rate, options.arrival, options.distribution, options.accounts,
+                options.durationSeconds, options.warmupSeconds);
+        out.printf("%-9s %10s %9s %10s %10s %10s %10s%n",
+                "operation", "count", "rejected", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            total.add(histogram);
+            print(out, operation.name().toLowerCase(), histogram, rejected.get(operation).sum());
+        }
+        print(out, "total", total, rejected.values().stream().mapToLong(LongAdder::sum).sum());
+        out.printf("Throughput %.0f ops/s, server errors %d, client errors %d, shed %d, events relayed %d%n",
+                total.getTotalCount() / (double) options.durationSeconds,
+                serverErrors.sum(), clientErrors.sum(), shed.sum(), eventsRelayed);
+
+        if (options.histogramOut != null) {
+            try (PrintStream file = new PrintStream(new FileOutputStream(options.histogramOut))) {
+                total.outputPercentileDistribution(file, NANOS_PER_MILLI);
+            }
+            out.println("Latency distribution (ms) written to " + options.histogramOut);
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram, long rejectedCount) {
+        out.printf("%-9s %10d %9d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(), rejectedCount,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static String accountId(int index) {
+        return "load-" + index;
+    }
+
+    static final class Options {
+
+        int rate = 1000;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int accounts = 10_000;
+        String distribution = "uniform";
+        double skew = 0.99;
+        String arrival = "constant";
+        String mix = "deposit=40,withdraw=20,transfer=30,history=10";
+        int maxInFlight = 10_000;
+        boolean virtualThreads = true;
+        long seed = 42L;
+        String histogramOut;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "rate" -> options.rate = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "accounts" -> options.accounts = Integer.parseInt(value);
+                    case "distribution" -> options.distribution = value;
+                    case "skew" -> options.skew = Double.parseDouble(value);
+                    case "arrival" -> options.arrival = value;
+                    case "mix" -> options.mix = value;
+                    case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                    case "virtual-threads" -> options.virtualThreads = Boolean.parseBoolean(value);
+                    case "seed" -> options.seed = Long.parseLong(value);
+                    case "histogram-out" -> options.histogramOut = value;
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            return options;
+        }
+
+        double[] mixCdf() {
+            Operation[] operations = Operation.values();
+            double[] weights = new double[operations.length];
+            for (String part : mix.split(",")) {
+                String[] entry = part.split("=");
+                weights[Operation.valueOf(entry[0].trim().toUpperCase()).ordinal()] = Double.parseDouble(entry[1]);
+            }
+            double sum = 0;
+            for (double weight : weights) {
+                sum += weight;
+            }
+            double[] cdf = new double[operations.length];
+            double running = 0;
+            for (int i = 0; i < operations.length; i++) {
+                running += weights[i];
+                cdf[i] = running / sum;
+            }
+            return cdf;
+        }
+    }
+}
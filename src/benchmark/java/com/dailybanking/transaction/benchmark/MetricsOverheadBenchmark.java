@@ -0,0 +1,84 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private MeterRegistry meterRegistry;
+    private TransactionMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        metrics = new TransactionMetrics(meterRegistry);
+    }
+
+    @Benchmark
+    public long pipelineStages() {
+        long started = System.nanoTime();
+        long stageStarted = metrics.stageCompleted(TransactionType.DEPOSIT, TransactionMetrics.Stage.IDEMPOTENCY, started);
+        stageStarted = metrics.stageCompleted(TransactionType.DEPOSIT, TransactionMetrics.Stage.BALANCE, stageStarted);
+        stageStarted = metrics.stageCompleted(TransactionType.DEPOSIT, TransactionMetrics.Stage.PERSIST, stageStarted);
+        stageStarted = metrics.stageCompleted(TransactionType.DEPOSIT, TransactionMetrics.Stage.OUTBOX, stageStarted);
+        metrics.completed(TransactionType.DEPOSIT, TransactionMetrics.Outcome.COMPLETED, started);
+        return stageStarted;
+    }
+
+    @Benchmark
+    public long pipelineStagesWithTagLookup() {
+        long started = System.nanoTime();
+        long stageStarted = lookup("idempotency", started);
+        stageStarted = lookup("balance", stageStarted);
+        stageStarted = lookup("persist", stageStarted);
+        stageStarted = lookup("outbox", stageStarted);
+        Timer.builder("transaction.process")
+                .tags("operation", "deposit", "outcome", "completed")
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return stageStarted;
+    }
+
+    private long lookup(String stage, long stageStarted) {
+        long now = System.nanoTime();
+        Timer.builder("transaction.stage")
+                .tags("operation", "deposit", "stage", stage, "outcome", "success")
+                .register(meterRegistry)
+                .record(now - stageStarted, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
@@ -0,0 +1,124 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public final class PrimaryKeyLayoutComparison {
+
+    private static final int REPORT_EVERY = 1_000_000;
+
+    private PrimaryKeyLayoutComparison() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        long rows = 10_000_000L;
+        int batchSize = 1000;
+        String jdbcUrl = null;
+        String user = "postgres";
+        String password = "postgres";
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--rows=")) {
+                rows = Long.parseLong(value);
+            } else if (arg.startsWith("--batch=")) {
+                batchSize = Integer.parseInt(value);
+            } else if (arg.startsWith("--jdbc-url=")) {
+                jdbcUrl = value;
+            } else if (arg.startsWith("--user=")) {
+                user = value;
+            } else if (arg.startsWith("--password=")) {
+                password = value;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        PostgreSQLContainer<?> container = null;
+        if (jdbcUrl == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            jdbcUrl = container.getJdbcUrl();
+            user = container.getUsername();
+            password = container.getPassword();
+        }
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            connection.setAutoCommit(false);
+            run(connection, "pk_random_varchar", "varchar(36)", () -> UUID.randomUUID().toString(), rows, batchSize);
+            run(connection, "pk_time_ordered_uuid", "uuid", TimeOrderedIds::next, rows, batchSize);
+        } finally {
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private static void run(Connection connection,
+                            String table,
+                            String idType,
+                            Supplier<Object> ids,
+                            long rows,
+                            int batchSize) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id " + idType + " primary key, "
+                    + "account_id varchar(36) not null, amount numeric(19, 2) not null, created_at timestamp not null)");
+        }
+        connection.commit();
+
+        System.out.printf("%n%s (%s primary key)%n%12s %14s%n", table, idType, "rows", "rows/s");
+        long started = System.nanoTime();
+        long segmentStarted = started;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + table + " (id, account_id, amount, created_at) values (?, ?, ?, ?)")) {
+            for (long row = 1; row <= rows; row++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "acc-" + ThreadLocalRandom.current().nextInt(100_000));
+                insert.setBigDecimal(3, BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(1, 100_000), 2));
+                insert.setTimestamp(4, Timestamp.from(Instant.now()));
+                insert.addBatch();
+                if (row % batchSize == 0 || row == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (row % REPORT_EVERY == 0 || row == rows) {
+                    long now = System.nanoTime();
+                    long segmentRows = row % REPORT_EVERY == 0 ? REPORT_EVERY : row % REPORT_EVERY;
+                    System.out.printf("%12d %14.0f%n", row, segmentRows / ((now - segmentStarted) / 1e9));
+                    segmentStarted = now;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("total %.1f s, %.0f rows/s%n", seconds, rows / seconds);
+        printSizes(connection, table);
+    }
+
+    private static void printSizes(Connection connection, String table) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")) {
+            System.out.println("index size only reported on PostgreSQL");
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze " + table);
+            try (ResultSet sizes = statement.executeQuery("select pg_relation_size('" + table + "_pkey'), "
+                    + "pg_relation_size('" + table + "')")) {
+                sizes.next();
+                System.out.printf("primary key index %,d bytes, heap %,d bytes%n", sizes.getLong(1), sizes.getLong(2));
+            }
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,85 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RecentHistoryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"true", "false"})
+    public boolean projection;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start("recent-history-bench",
+                "app.history.recent.enabled=" + projection);
+        transactionService = context.getBean(TransactionService.class);
+
+        for (int offset = 0; offset < rows; offset += BatchTransactionRequest.MAX_ITEMS) {
+            List<BatchTransactionItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(rows, offset + BatchTransactionRequest.MAX_ITEMS); i++) {
+                BatchTransactionItem item = new BatchTransactionItem();
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId("acc-" + (i % accounts));
+                item.setAmount(BigDecimal.TEN);
+                item.setCurrency("EUR");
+                items.add(item);
+            }
+            BatchTransactionRequest request = new BatchTransactionRequest();
+            request.setItems(items);
+            transactionService.submitBatch(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionPage firstPage() {
+        String accountId = "acc-" + ThreadLocalRandom.current().nextInt(accounts);
+        return transactionService.findByAccount(accountId, null, PAGE_SIZE);
+    }
+}
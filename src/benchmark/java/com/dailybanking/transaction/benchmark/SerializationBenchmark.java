@@ -0,0 +1,120 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private ObjectWriter eventWriter;
+    private ObjectReader eventReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+
+    private TransactionEvent event;
+    private TransactionResponse response;
+    private byte[] eventJson;
+    private byte[] eventBinary;
+    private byte[] responseJson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        eventWriter = objectMapper.writerFor(TransactionEvent.class);
+        eventReader = objectMapper.readerFor(TransactionEvent.class);
+        responseWriter = objectMapper.writerFor(TransactionResponse.class);
+        responseReader = objectMapper.readerFor(TransactionResponse.class);
+
+        Instant now = Instant.now();
+        String transactionId = UUID.randomUUID().toString();
+
+        event = new TransactionEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType("transaction.completed");
+        event.setTransactionId(transactionId);
+        event.setAccountId("acc-source");
+        event.setEntryType("DEBIT");
+        event.setAccountSequence(1_204L);
+        event.setBalanceAfter(new BigDecimal("874.50"));
+        event.setSourceAccountId("acc-source");
+        event.setTargetAccountId("acc-target");
+        event.setAmount(new BigDecimal("125.50"));
+        event.setCurrency("EUR");
+        event.setOccurredAt(now);
+
+        response = new TransactionResponse();
+        response.setTransactionId(transactionId);
+        response.setType(TransactionType.TRANSFER);
+        response.setStatus(TransactionStatus.COMPLETED);
+        response.setSourceAccountId("acc-source");
+        response.setTargetAccountId("acc-target");
+        response.setAmount(new BigDecimal("125.50"));
+        response.setCurrency("EUR");
+        response.setDescription("Rent");
+        response.setCreatedAt(now);
+        response.setCompletedAt(now);
+
+        eventJson = eventWriter.writeValueAsBytes(event);
+        eventBinary = TransactionEventCodec.encode(event);
+        responseJson = responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeEvent() throws IOException {
+        return eventWriter.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public TransactionEvent decodeEvent() throws IOException {
+        return eventReader.readValue(eventJson);
+    }
+
+    @Benchmark
+    public byte[] encodeEventBinary() {
+        return TransactionEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public TransactionEvent decodeEventBinary() {
+        return TransactionEventCodec.decode(eventBinary);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TransactionResponse decodeResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+}
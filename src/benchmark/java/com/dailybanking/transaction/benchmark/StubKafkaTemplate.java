@@ -0,0 +1,41 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import io.micrometer.observation.Observation;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class StubKafkaTemplate extends KafkaTemplate<String, TransactionEvent> {
+
+    private final AtomicLong offset = new AtomicLong();
+
+    private StubKafkaTemplate() {
+        super(new DefaultKafkaProducerFactory<>(Map.of()));
+    }
+
+    static void register(ConfigurableApplicationContext context) {
+        context.getBeanFactory().registerSingleton("kafkaTemplate", new StubKafkaTemplate());
+    }
+
+    long sent() {
+        return offset.get();
+    }
+
+    @Override
+    protected CompletableFuture<SendResult<String, TransactionEvent>> doSend(
+            ProducerRecord<String, TransactionEvent> producerRecord, Observation observation) {
+        int partition = producerRecord.partition() == null ? 0 : producerRecord.partition();
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(producerRecord.topic(), partition),
+                offset.getAndIncrement(), 0, System.currentTimeMillis(), -1, -1);
+        return CompletableFuture.completedFuture(new SendResult<>(producerRecord, metadata));
+    }
+}
@@ -0,0 +1,54 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionMappingBenchmark {
+
+    private Transaction transfer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        transfer = new Transaction();
+        transfer.setIdempotencyKey("bench-transfer");
+        transfer.setType(TransactionType.TRANSFER);
+        transfer.setSourceAccountId("acc-source");
+        transfer.setTargetAccountId("acc-target");
+        transfer.setAmount(new BigDecimal("125.50"));
+        transfer.setCurrency("EUR");
+        transfer.setDescription("Rent");
+        ReflectionTestUtils.invokeMethod(transfer, "prePersist");
+        transfer.setStatus(TransactionStatus.COMPLETED);
+        transfer.setCompletedAt(Instant.now());
+    }
+
+    @Benchmark
+    public TransactionResponse toResponse() {
+        return TransactionService.toResponse(transfer);
+    }
+}
@@ -0,0 +1,157 @@
+package com.dailybanking.transaction.benchmark;
+
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.service.BalanceBook;
+import com.dailybanking.transaction.service.MinorUnits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class TransferBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000.00");
+
+    @State(Scope.Benchmark)
+    public static class Book {
+
+        @Param({"striped", "compute"})
+        public String engine;
+
+        @Param({"hot-pair", "uniform", "zipfian"})
+        public String distribution;
+
+        @Param({"10000"})
+        public int accounts;
+
+        TransferEngine transfers;
+        String[] accountIds;
+        double[] zipfCdf;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            accountIds = new String[accounts];
+            for (int i = 0; i < accounts; i++) {
+                accountIds[i] = "acc-" + i;
+            }
+            transfers = "striped".equals(engine) ? new StripedEngine() : new ComputeEngine();
+            for (String accountId : accountIds) {
+                transfers.open(accountId, OPENING_BALANCE);
+            }
+            zipfCdf = zipfCdf(accounts, 0.99);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            random = new SplittableRandom(Thread.currentThread().threadId());
+        }
+
+        int next(Book book) {
+            return switch (book.distribution) {
+                case "hot-pair" -> random.nextInt(2);
+                case "zipfian" -> zipfIndex(book.zipfCdf, random.nextDouble());
+                default -> random.nextInt(book.accounts);
+            };
+        }
+    }
+
+    @Benchmark
+    public void transfer(Book book, Picker picker) {
+        int source = picker.next(book);
+        int target = picker.next(book);
+        if (source == target) {
+            target = (target + 1) % book.accounts;
+        }
+        book.transfers.transfer(book.accountIds[source], book.accountIds[target], AMOUNT);
+    }
+
+    interface TransferEngine {
+
+        void open(String accountId, BigDecimal balance);
+
+        void transfer(String sourceAccountId, String targetAccountId, BigDecimal amount);
+    }
+
+    static final class StripedEngine implements TransferEngine {
+
+        private final BalanceBook book = new BalanceBook(1024);
+
+        @Override
+        public void open(String accountId, BigDecimal balance) {
+            book.credit(accountId, MinorUnits.toMinor(balance));
+        }
+
+        @Override
+        public void transfer(String sourceAccountId, String targetAccountId, BigDecimal amount) {
+            book.transfer(sourceAccountId, targetAccountId, MinorUnits.toMinor(amount));
+        }
+    }
+
+    static final class ComputeEngine implements TransferEngine {
+
+        private final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+
+        @Override
+        public void open(String accountId, BigDecimal balance) {
+            balances.put(accountId, balance);
+        }
+
+        @Override
+        public void transfer(String sourceAccountId, String targetAccountId, BigDecimal amount) {
+            balances.compute(sourceAccountId, (key, value) -> {
+                if (value.compareTo(amount) < 0) {
+                    throw new InsufficientBalanceException("Insufficient balance for account " + sourceAccountId);
+                }
+                return value.subtract(amount);
+            });
+            balances.compute(targetAccountId, (key, value) -> value.add(amount));
+        }
+    }
+
+    static double[] zipfCdf(int size, double skew) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    static int zipfIndex(double[] cdf, double uniform) {
+        int index = Arrays.binarySearch(cdf, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.dailybanking.transaction.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class VirtualThreadComparison {
+
+    private VirtualThreadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] clientLevels = Arrays.stream((args.length > 0 ? args[0] : "200,2000,20000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+
+        System.out.printf("%-9s %8s %12s %10s %10s %10s %8s%n",
+                "threads", "clients", "requests/s", "mean ms", "p99 ms", "max ms", "errors");
+        for (boolean virtual : new boolean[] {false, true}) {
+            ConfigurableApplicationContext context = BenchmarkContext.startWeb("threads-" + virtual,
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "server.tomcat.max-connections=30000",
+                    "server.tomcat.accept-count=10000",
+                    "spring.datasource.hikari.maximum-pool-size=50");
+            try {
+                URI deposit = URI.create("http://localhost:" + BenchmarkContext.port(context)
+                        + "/api/v1/transactions/deposit");
+                run(deposit, 50, Duration.ofSeconds(5));
+                for (int clients : clientLevels) {
+                    Result result = run(deposit, clients, duration);
+                    System.out.printf("%-9s %8d %12.0f %10.2f %10.2f %10.2f %8d%n",
+                            virtual ? "virtual" : "platform", clients,
+                            result.count() / (double) duration.toSeconds(),
+                            result.meanMillis(), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                            result.errors);
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static Result run(URI deposit, int clients, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                String body = "{\"accountId\":\"acc-" + (client % 1000) + "\",\"amount\":1.00,\"currency\":\"EUR\"}";
+                HttpRequest request = HttpRequest.newBuilder(deposit)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(60))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                futures.add(executor.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 201) {
+                                result.errors++;
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            result.errors++;
+                            continue;
+                        }
+                        result.record(System.nanoTime() - started);
+                    }
+                    return result;
+                }));
+            }
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        return total;
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[64];
+        private int size;
+        private long errors;
+
+        void record(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        long count() {
+            return size;
+        }
+
+        double meanMillis() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += latencies[i];
+            }
+            return size == 0 ? 0 : sum / (double) size / 1_000_000;
+        }
+
+        double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000d;
+        }
+    }
+}
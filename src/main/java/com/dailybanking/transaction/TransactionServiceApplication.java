@@ -2,8 +2,10 @@ package com.dailybanking.transaction;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TransactionServiceApplication {
 
     public static void main(String[] args) {
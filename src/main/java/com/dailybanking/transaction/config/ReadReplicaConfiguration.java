@@ -0,0 +1,72 @@
+package com.dailybanking.transaction.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.replicas.urls:}") List<String> urls,
+            @Value("${app.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.replicas.pool-size:10}") int poolSize,
+            @Value("${app.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${app.replicas.lag-query}") String lagQuery,
+            @Value("${app.replicas.max-lag-ms:5000}") long maxLagMillis,
+            @Value("${app.replicas.check-timeout-seconds:2}") int checkTimeoutSeconds) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricRegistry(meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(name, replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replicas, lagQuery, maxLagMillis, checkTimeoutSeconds, meterRegistry);
+        routing.checkReplicas();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,204 @@
+package com.dailybanking.transaction.config;
+
+import com.dailybanking.transaction.service.ReadRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    String lagQuery,
+                                    long maxLagMillis,
+                                    int checkTimeoutSeconds,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+
+        this.primaryReads = Counter.builder("datasource.reads")
+                .tag("target", "primary")
+                .description("Read-only transactions served by the primary")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder("datasource.reads.fallback")
+                .description("Read-only transactions sent to the primary because no replica was in rotation")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.in.rotation", this, ReplicaRoutingDataSource::replicasInRotation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isReplicaRead()) {
+            return primary.getConnection();
+        }
+        Replica replica = nextInRotation();
+        while (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.remove("connection failed: " + ex.getMessage());
+                replica = nextInRotation();
+            }
+        }
+        fallbackReads.increment();
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Routing data source does not accept per-call credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${app.replicas.health-check-interval-ms:2000}",
+            initialDelayString = "${app.replicas.health-check-interval-ms:2000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    public int replicasInRotation() {
+        int count = 0;
+        for (Replica replica : replicas) {
+            if (replica.inRotation) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isInRotation(String name) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica.inRotation;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean isReplicaRead() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (ReadRouting.isPrimaryRequired()) {
+            primaryReads.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private Replica nextInRotation() {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.inRotation) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(checkTimeoutSeconds);
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                long lag = result.next() ? result.getLong(1) : 0L;
+                replica.lagMillis = lag;
+                if (lag > maxLagMillis) {
+                    replica.remove("replication lag " + lag + " ms exceeds " + maxLagMillis + " ms");
+                } else {
+                    replica.restore(lag);
+                }
+            }
+        } catch (SQLException ex) {
+            replica.lagMillis = -1L;
+            replica.remove("health check failed: " + ex.getMessage());
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean inRotation;
+        private volatile long lagMillis = -1L;
+
+        Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = Counter.builder("datasource.reads")
+                    .tag("target", name)
+                    .description("Read-only transactions served by a replica")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagMillis)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.in.rotation", this, replica -> replica.inRotation ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        void remove(String reason) {
+            if (inRotation) {
+                inRotation = false;
+                log.warn("Taking read replica {} out of rotation: {}", name, reason);
+            }
+        }
+
+        void restore(long lag) {
+            if (!inRotation) {
+                inRotation = true;
+                log.info("Read replica {} back in rotation with {} ms lag", name, lag);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dailybanking.transaction.controller;
+
+import com.dailybanking.transaction.dto.AccountBalanceResponse;
+import com.dailybanking.transaction.dto.AccountSummaryResponse;
+import com.dailybanking.transaction.service.AccountService;
+import com.dailybanking.transaction.service.AdmissionControl;
+import com.dailybanking.transaction.service.BalanceHistoryService;
+import com.dailybanking.transaction.service.DailyAggregateService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/accounts")
+public class AccountController {
+
+    private final AccountService accountService;
+    private final BalanceHistoryService balanceHistoryService;
+    private final DailyAggregateService dailyAggregateService;
+    private final AdmissionControl admissionControl;
+
+    public AccountController(AccountService accountService,
+                             BalanceHistoryService balanceHistoryService,
+                             DailyAggregateService dailyAggregateService,
+                             AdmissionControl admissionControl) {
+        this.accountService = accountService;
+        this.balanceHistoryService = balanceHistoryService;
+        this.dailyAggregateService = dailyAggregateService;
+        this.admissionControl = admissionControl;
+    }
+
+    @Operation(summary = "Get an account balance, optionally as of a point in time",
+            description = "Without 'asOf' the current balance is returned; with it, the balance after the last "
+                    + "transaction at or before that instant")
+    @GetMapping("/{accountId}/balance")
+    public AccountBalanceResponse balance(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        if (asOf == null) {
+            return new AccountBalanceResponse(accountId, accountService.getBalance(accountId), Instant.now());
+        }
+        BigDecimal balance = admissionControl.read(() -> balanceHistoryService.balanceAsOf(accountId, asOf));
+        return new AccountBalanceResponse(accountId, balance, asOf);
+    }
+
+    @Operation(summary = "Get per-day transaction totals for an account",
+            description = "Counts, sums, minimums and maximums per day, transaction type and entry type between "
+                    + "'from' and 'to' (inclusive, default today), plus totals over the whole range")
+    @GetMapping("/{accountId}/summary")
+    public AccountSummaryResponse summary(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? dailyAggregateService.today() : to;
+        LocalDate start = from == null ? end : from;
+        return admissionControl.read(() -> dailyAggregateService.summarize(accountId, start, end));
+    }
+}
@@ -0,0 +1,23 @@
+package com.dailybanking.transaction.controller;
+
+import com.dailybanking.transaction.dto.ArchiveReport;
+import com.dailybanking.transaction.service.TransactionArchiver;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "archive")
+public class ArchiveEndpoint {
+
+    private final TransactionArchiver archiver;
+
+    public ArchiveEndpoint(TransactionArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    @WriteOperation
+    public ArchiveReport archive() {
+        return archiver.archive();
+    }
+}
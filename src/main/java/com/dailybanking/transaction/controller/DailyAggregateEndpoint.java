@@ -0,0 +1,34 @@
+package com.dailybanking.transaction.controller;
+
+import com.dailybanking.transaction.dto.AggregateBackfillReport;
+import com.dailybanking.transaction.exception.InvalidDateRangeException;
+import com.dailybanking.transaction.service.DailyAggregateBackfill;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+@Component
+@Endpoint(id = "aggregates")
+public class DailyAggregateEndpoint {
+
+    private final DailyAggregateBackfill backfill;
+
+    public DailyAggregateEndpoint(DailyAggregateBackfill backfill) {
+        this.backfill = backfill;
+    }
+
+    @WriteOperation
+    public AggregateBackfillReport backfill(String from, String to) {
+        try {
+            return backfill.backfill(LocalDate.parse(from), LocalDate.parse(to));
+        } catch (DateTimeParseException ex) {
+            throw new InvalidEndpointRequestException("Dates must be ISO-8601 (yyyy-MM-dd)", ex.getMessage());
+        } catch (InvalidDateRangeException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+}
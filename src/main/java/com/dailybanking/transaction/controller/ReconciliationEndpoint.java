@@ -0,0 +1,23 @@
+package com.dailybanking.transaction.controller;
+
+import com.dailybanking.transaction.dto.ReconciliationReport;
+import com.dailybanking.transaction.service.LedgerReconciliation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciliation reconciliation;
+
+    public ReconciliationEndpoint(LedgerReconciliation reconciliation) {
+        this.reconciliation = reconciliation;
+    }
+
+    @WriteOperation
+    public ReconciliationReport reconcile() {
+        return reconciliation.reconcile();
+    }
+}
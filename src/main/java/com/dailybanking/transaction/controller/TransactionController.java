@@ -1,13 +1,22 @@
 package com.dailybanking.transaction.controller;
 
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.BatchTransactionResponse;
 import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.ExportFormat;
+import com.dailybanking.transaction.dto.TransactionPage;
 import com.dailybanking.transaction.dto.TransactionResponse;
 import com.dailybanking.transaction.dto.TransferRequest;
 import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.service.AdmissionControl;
+import com.dailybanking.transaction.service.GroupCommitCoordinator;
+import com.dailybanking.transaction.service.TransactionExportService;
 import com.dailybanking.transaction.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,46 +25,87 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final GroupCommitCoordinator writeCoordinator;
+    private final TransactionExportService exportService;
+    private final AdmissionControl admissionControl;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 GroupCommitCoordinator writeCoordinator,
+                                 TransactionExportService exportService,
+                                 AdmissionControl admissionControl) {
         this.transactionService = transactionService;
+        this.writeCoordinator = writeCoordinator;
+        this.exportService = exportService;
+        this.admissionControl = admissionControl;
     }
 
     @Operation(summary = "Deposit money into an account")
     @PostMapping("/deposit")
     public ResponseEntity<TransactionResponse> deposit(@Valid @RequestBody DepositRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.deposit(request));
+        TransactionResponse response = admissionControl.write(() -> writeCoordinator.deposit(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @Operation(summary = "Withdraw money from an account")
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody WithdrawalRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.withdraw(request));
+        TransactionResponse response = admissionControl.write(() -> writeCoordinator.withdraw(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @Operation(summary = "Transfer money between two accounts")
     @PostMapping("/transfer")
     public ResponseEntity<TransactionResponse> transfer(@Valid @RequestBody TransferRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.transfer(request));
+        TransactionResponse response = admissionControl.write(() -> writeCoordinator.transfer(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Submit a batch of deposits, withdrawals and transfers",
+            description = "Items are applied independently in order; rejected items are reported per item "
+                    + "and do not roll back the completed ones")
+    @PostMapping("/batch")
+    public BatchTransactionResponse batch(@Valid @RequestBody BatchTransactionRequest request) {
+        return admissionControl.write(() -> transactionService.submitBatch(request));
+    }
+
+    @Operation(summary = "Stream transactions in a time window as NDJSON or CSV",
+            description = "Optionally restricted to one account; 'from' is inclusive and 'to' exclusive")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        exportService.validate(from, to);
+        StreamingResponseBody body = admissionControl.export(
+                output -> exportService.export(accountId, from, to, format, output));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 
     @Operation(summary = "Get a transaction by id")
     @GetMapping("/{transactionId}")
     public TransactionResponse getById(@PathVariable String transactionId) {
-        return transactionService.getById(transactionId);
+        return admissionControl.read(() -> transactionService.getById(transactionId));
     }
 
-    @Operation(summary = "Get transaction history for an account")
+    @Operation(summary = "Get transaction history for an account, newest first",
+            description = "Pass the returned nextCursor to fetch the following page; pages hold at most "
+                    + TransactionPage.MAX_PAGE_SIZE + " items")
     @GetMapping
-    public List<TransactionResponse> byAccount(@RequestParam String accountId) {
-        return transactionService.findByAccount(accountId);
+    public TransactionPage byAccount(@RequestParam String accountId,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "" + TransactionPage.DEFAULT_PAGE_SIZE) int limit) {
+        return admissionControl.read(() -> transactionService.findByAccount(accountId, cursor, limit));
     }
 }
@@ -0,0 +1,44 @@
+package com.dailybanking.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class AccountBalanceResponse {
+
+    private String accountId;
+    private BigDecimal balance;
+    private Instant asOf;
+
+    public AccountBalanceResponse() {
+    }
+
+    public AccountBalanceResponse(String accountId, BigDecimal balance, Instant asOf) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.asOf = asOf;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+}
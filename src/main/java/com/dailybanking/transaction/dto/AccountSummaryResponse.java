@@ -0,0 +1,68 @@
+package com.dailybanking.transaction.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AccountSummaryResponse {
+
+    private String accountId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyTotalsResponse> totals;
+    private List<DailyTotalsResponse> days;
+
+    public AccountSummaryResponse() {
+    }
+
+    public AccountSummaryResponse(String accountId,
+                                  LocalDate from,
+                                  LocalDate to,
+                                  List<DailyTotalsResponse> totals,
+                                  List<DailyTotalsResponse> days) {
+        this.accountId = accountId;
+        this.from = from;
+        this.to = to;
+        this.totals = totals;
+        this.days = days;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<DailyTotalsResponse> getTotals() {
+        return totals;
+    }
+
+    public void setTotals(List<DailyTotalsResponse> totals) {
+        this.totals = totals;
+    }
+
+    public List<DailyTotalsResponse> getDays() {
+        return days;
+    }
+
+    public void setDays(List<DailyTotalsResponse> days) {
+        this.days = days;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dailybanking.transaction.dto;
+
+import java.time.LocalDate;
+
+public class AggregateBackfillReport {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private long aggregates;
+    private long elapsedMillis;
+
+    public AggregateBackfillReport() {
+    }
+
+    public AggregateBackfillReport(LocalDate from, LocalDate to, int days, long aggregates, long elapsedMillis) {
+        this.from = from;
+        this.to = to;
+        this.days = days;
+        this.aggregates = aggregates;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public long getAggregates() {
+        return aggregates;
+    }
+
+    public void setAggregates(long aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dailybanking.transaction.dto;
+
+import java.time.Instant;
+
+public class ArchiveReport {
+
+    private Instant cutoff;
+    private int segments;
+    private long transactions;
+    private long elapsedMillis;
+
+    public ArchiveReport() {
+    }
+
+    public ArchiveReport(Instant cutoff, int segments, long transactions, long elapsedMillis) {
+        this.cutoff = cutoff;
+        this.segments = segments;
+        this.transactions = transactions;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Instant getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(Instant cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
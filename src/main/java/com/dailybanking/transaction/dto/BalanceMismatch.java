@@ -0,0 +1,53 @@
+package com.dailybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+public class BalanceMismatch {
+
+    private String accountId;
+    private BigDecimal ledgerBalance;
+    private BigDecimal liveBalance;
+    private BigDecimal difference;
+
+    public BalanceMismatch() {
+    }
+
+    public BalanceMismatch(String accountId, BigDecimal ledgerBalance, BigDecimal liveBalance, BigDecimal difference) {
+        this.accountId = accountId;
+        this.ledgerBalance = ledgerBalance;
+        this.liveBalance = liveBalance;
+        this.difference = difference;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getLedgerBalance() {
+        return ledgerBalance;
+    }
+
+    public void setLedgerBalance(BigDecimal ledgerBalance) {
+        this.ledgerBalance = ledgerBalance;
+    }
+
+    public BigDecimal getLiveBalance() {
+        return liveBalance;
+    }
+
+    public void setLiveBalance(BigDecimal liveBalance) {
+        this.liveBalance = liveBalance;
+    }
+
+    public BigDecimal getDifference() {
+        return difference;
+    }
+
+    public void setDifference(BigDecimal difference) {
+        this.difference = difference;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dailybanking.transaction.dto;
+
+public class BatchItemResult {
+
+    public enum Outcome {
+        COMPLETED,
+        REJECTED
+    }
+
+    private int index;
+    private Outcome outcome;
+    private TransactionResponse transaction;
+    private String error;
+    private String message;
+
+    public static BatchItemResult completed(int index, TransactionResponse transaction) {
+        BatchItemResult result = new BatchItemResult();
+        result.setIndex(index);
+        result.setOutcome(Outcome.COMPLETED);
+        result.setTransaction(transaction);
+        return result;
+    }
+
+    public static BatchItemResult rejected(int index, String error, String message) {
+        BatchItemResult result = new BatchItemResult();
+        result.setIndex(index);
+        result.setOutcome(Outcome.REJECTED);
+        result.setError(error);
+        result.setMessage(message);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionResponse transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
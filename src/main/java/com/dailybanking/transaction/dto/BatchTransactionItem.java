@@ -0,0 +1,94 @@
+package com.dailybanking.transaction.dto;
+
+import com.dailybanking.transaction.model.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class BatchTransactionItem {
+
+    @NotNull
+    private TransactionType type;
+
+    @NotBlank
+    @Size(max = 36)
+    private String accountId;
+
+    @Size(max = 36)
+    private String targetAccountId;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    @Digits(integer = 17, fraction = 2)
+    private BigDecimal amount;
+
+    @NotBlank
+    @Size(min = 3, max = 3)
+    private String currency;
+
+    @Size(max = 500)
+    private String description;
+
+    @Size(max = 100)
+    private String idempotencyKey;
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public void setTargetAccountId(String targetAccountId) {
+        this.targetAccountId = targetAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dailybanking.transaction.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchTransactionRequest {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_ITEMS)
+    private List<@Valid BatchTransactionItem> items;
+
+    public List<BatchTransactionItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchTransactionItem> items) {
+        this.items = items;
+    }
+}
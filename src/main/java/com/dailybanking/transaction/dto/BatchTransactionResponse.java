@@ -0,0 +1,48 @@
+package com.dailybanking.transaction.dto;
+
+import java.util.List;
+
+public class BatchTransactionResponse {
+
+    private int completed;
+    private int rejected;
+    private List<BatchItemResult> results;
+
+    public BatchTransactionResponse() {
+    }
+
+    public BatchTransactionResponse(List<BatchItemResult> results) {
+        this.results = results;
+        for (BatchItemResult result : results) {
+            if (result.getOutcome() == BatchItemResult.Outcome.COMPLETED) {
+                completed++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dailybanking.transaction.dto;
+
+import com.dailybanking.transaction.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyTotalsResponse {
+
+    private LocalDate date;
+    private TransactionType type;
+    private String entryType;
+    private long count;
+    private BigDecimal total;
+    private BigDecimal min;
+    private BigDecimal max;
+
+    public DailyTotalsResponse() {
+    }
+
+    public DailyTotalsResponse(LocalDate date,
+                               TransactionType type,
+                               String entryType,
+                               long count,
+                               BigDecimal total,
+                               BigDecimal min,
+                               BigDecimal max) {
+        this.date = date;
+        this.type = type;
+        this.entryType = entryType;
+        this.count = count;
+        this.total = total;
+        this.min = min;
+        this.max = max;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public String getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(String entryType) {
+        this.entryType = entryType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public void setMin(BigDecimal min) {
+        this.min = min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public void setMax(BigDecimal max) {
+        this.max = max;
+    }
+}
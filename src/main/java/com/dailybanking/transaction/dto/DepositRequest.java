@@ -1,6 +1,7 @@
 package com.dailybanking.transaction.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ public class DepositRequest {
 
     @NotNull
     @DecimalMin(value = "0.01")
+    @Digits(integer = 17, fraction = 2)
     private BigDecimal amount;
 
     @NotBlank
@@ -24,6 +26,7 @@ public class DepositRequest {
     @Size(max = 500)
     private String description;
 
+    @Size(max = 100)
     private String idempotencyKey;
 
     public String getAccountId() {
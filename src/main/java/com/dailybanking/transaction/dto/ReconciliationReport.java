@@ -0,0 +1,85 @@
+package com.dailybanking.transaction.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ReconciliationReport {
+
+    private Instant startedAt;
+    private int chunks;
+    private long rows;
+    private long accounts;
+    private long mismatchCount;
+    private List<BalanceMismatch> mismatches;
+    private long elapsedMillis;
+
+    public ReconciliationReport() {
+    }
+
+    public ReconciliationReport(Instant startedAt, int chunks, long rows, long accounts, long mismatchCount,
+                                List<BalanceMismatch> mismatches, long elapsedMillis) {
+        this.startedAt = startedAt;
+        this.chunks = chunks;
+        this.rows = rows;
+        this.accounts = accounts;
+        this.mismatchCount = mismatchCount;
+        this.mismatches = mismatches;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(long accounts) {
+        this.accounts = accounts;
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+
+    public void setMismatchCount(long mismatchCount) {
+        this.mismatchCount = mismatchCount;
+    }
+
+    public List<BalanceMismatch> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<BalanceMismatch> mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
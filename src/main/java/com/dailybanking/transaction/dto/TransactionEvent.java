@@ -8,6 +8,10 @@ public class TransactionEvent {
     private String eventId;
     private String eventType;
     private String transactionId;
+    private String accountId;
+    private String entryType;
+    private long accountSequence;
+    private BigDecimal balanceAfter;
     private String sourceAccountId;
     private String targetAccountId;
     private BigDecimal amount;
@@ -38,6 +42,38 @@ public class TransactionEvent {
         this.transactionId = transactionId;
     }
 
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(String entryType) {
+        this.entryType = entryType;
+    }
+
+    public long getAccountSequence() {
+        return accountSequence;
+    }
+
+    public void setAccountSequence(long accountSequence) {
+        this.accountSequence = accountSequence;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
     public String getSourceAccountId() {
         return sourceAccountId;
     }
@@ -0,0 +1,36 @@
+package com.dailybanking.transaction.dto;
+
+import java.util.List;
+
+public class TransactionPage {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<TransactionResponse> items;
+    private String nextCursor;
+
+    public TransactionPage() {
+    }
+
+    public TransactionPage(List<TransactionResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TransactionResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TransactionResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
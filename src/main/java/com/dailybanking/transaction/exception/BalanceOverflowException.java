@@ -0,0 +1,8 @@
+package com.dailybanking.transaction.exception;
+
+public class BalanceOverflowException extends RuntimeException {
+
+    public BalanceOverflowException(String accountId) {
+        super("Balance limit exceeded for account " + accountId);
+    }
+}
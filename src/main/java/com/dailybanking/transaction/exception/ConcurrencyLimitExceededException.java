@@ -0,0 +1,12 @@
+package com.dailybanking.transaction.exception;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Write concurrency limit of " + limit + " reached, retry later");
+    }
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
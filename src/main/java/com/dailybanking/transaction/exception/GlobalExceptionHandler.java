@@ -1,5 +1,8 @@
 package com.dailybanking.transaction.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -21,16 +24,58 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, "DUPLICATE_TRANSACTION", ex.getMessage());
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(DataIntegrityViolationException ex) {
+        if (IntegrityViolations.isIdempotencyKeyConflict(ex)) {
+            return build(HttpStatus.CONFLICT, "CONCURRENT_WRITE_CONFLICT",
+                    "Conflicting concurrent write, retry the request");
+        }
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, "DATA_INTEGRITY_VIOLATION",
+                "The transaction could not be stored");
+    }
+
     @ExceptionHandler(InsufficientBalanceException.class)
     public ResponseEntity<ErrorResponse> handleInsufficient(InsufficientBalanceException ex) {
         return build(HttpStatus.BAD_REQUEST, "INSUFFICIENT_BALANCE", ex.getMessage());
     }
 
+    @ExceptionHandler(BalanceOverflowException.class)
+    public ResponseEntity<ErrorResponse> handleOverflow(BalanceOverflowException ex) {
+        return build(HttpStatus.UNPROCESSABLE_ENTITY, "BALANCE_OVERFLOW", ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidAccountException.class)
     public ResponseEntity<ErrorResponse> handleInvalidAccount(InvalidAccountException ex) {
         return build(HttpStatus.BAD_REQUEST, "INVALID_ACCOUNT", ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        return build(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidExport(InvalidExportRequestException ex) {
+        return build(HttpStatus.BAD_REQUEST, "INVALID_EXPORT_REQUEST", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRange(InvalidDateRangeException ex) {
+        return build(HttpStatus.BAD_REQUEST, "INVALID_DATE_RANGE", ex.getMessage());
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(BulkheadFullException ex) {
+        return build(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_CONCURRENT_REQUESTS", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimit(ConcurrencyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "OVERLOADED", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,22 @@
+package com.dailybanking.transaction.exception;
+
+import com.dailybanking.transaction.model.Transaction;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public final class IntegrityViolations {
+
+    private IntegrityViolations() {
+    }
+
+    public static boolean isIdempotencyKeyConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(Transaction.IDEMPOTENCY_KEY_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package com.dailybanking.transaction.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid history cursor: " + cursor);
+    }
+}
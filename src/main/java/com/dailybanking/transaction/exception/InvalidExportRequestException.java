@@ -0,0 +1,8 @@
+package com.dailybanking.transaction.exception;
+
+public class InvalidExportRequestException extends RuntimeException {
+
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,62 @@
+package com.dailybanking.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "balance_checkpoints", indexes = {
+        @Index(name = "idx_balance_checkpoints_account_as_of", columnList = "account_id, as_of")
+})
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_checkpoints_seq")
+    @SequenceGenerator(name = "balance_checkpoints_seq", sequenceName = "balance_checkpoints_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, length = 36)
+    private String accountId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+}
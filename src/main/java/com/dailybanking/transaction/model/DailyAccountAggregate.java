@@ -0,0 +1,166 @@
+package com.dailybanking.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_account_aggregates")
+@IdClass(DailyAccountAggregate.Key.class)
+public class DailyAccountAggregate {
+
+    @Id
+    @Column(name = "account_id", length = 36)
+    private String accountId;
+
+    @Id
+    @Column(name = "business_date")
+    private LocalDate businessDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", length = 20)
+    private TransactionType transactionType;
+
+    @Id
+    @Column(name = "entry_type", length = 6)
+    private String entryType;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "min_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal maxAmount;
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getBusinessDate() {
+        return businessDate;
+    }
+
+    public void setBusinessDate(LocalDate businessDate) {
+        this.businessDate = businessDate;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(String entryType) {
+        this.entryType = entryType;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public static class Key implements Serializable {
+
+        private String accountId;
+        private LocalDate businessDate;
+        private TransactionType transactionType;
+        private String entryType;
+
+        public Key() {
+        }
+
+        public Key(String accountId, LocalDate businessDate, TransactionType transactionType, String entryType) {
+            this.accountId = accountId;
+            this.businessDate = businessDate;
+            this.transactionType = transactionType;
+            this.entryType = entryType;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
+
+        public LocalDate getBusinessDate() {
+            return businessDate;
+        }
+
+        public TransactionType getTransactionType() {
+            return transactionType;
+        }
+
+        public String getEntryType() {
+            return entryType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(accountId, key.accountId)
+                    && Objects.equals(businessDate, key.businessDate)
+                    && transactionType == key.transactionType
+                    && Objects.equals(entryType, key.entryType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, businessDate, transactionType, entryType);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dailybanking.transaction.model;
+
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TimeOrderedIds {
+
+    public static final Comparator<UUID> ORDER = (left, right) -> {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    private TimeOrderedIds() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        long stamp = lastStamp.updateAndGet(previous -> {
+            long candidate = epochMillis << SEQUENCE_BITS;
+            return candidate > previous ? candidate : previous + 1;
+        });
+        long millis = stamp >>> SEQUENCE_BITS;
+        long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificant = (millis << 16) | VERSION_7 | sequence;
+        long leastSignificant = VARIANT_RFC_4122 | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
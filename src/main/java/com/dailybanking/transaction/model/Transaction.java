@@ -5,8 +5,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Version;
 
 import java.math.BigDecimal;
@@ -14,13 +16,20 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_source_created", columnList = "source_account_id, created_at, id"),
+        @Index(name = "idx_transactions_target_created", columnList = "target_account_id, created_at, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Transaction.IDEMPOTENCY_KEY_CONSTRAINT, columnNames = "idempotency_key")
+})
 public class Transaction {
 
+    public static final String IDEMPOTENCY_KEY_CONSTRAINT = "uk_transactions_idempotency_key";
+
     @Id
-    private String id;
+    private UUID id;
 
-    @Column(name = "idempotency_key", nullable = false, unique = true, length = 100)
+    @Column(name = "idempotency_key", nullable = false, length = 100)
     private String idempotencyKey;
 
     @Enumerated(EnumType.STRING)
@@ -37,6 +46,12 @@ public class Transaction {
     @Column(name = "target_account_id", length = 36)
     private String targetAccountId;
 
+    @Column(name = "source_balance_after", precision = 19, scale = 2)
+    private BigDecimal sourceBalanceAfter;
+
+    @Column(name = "target_balance_after", precision = 19, scale = 2)
+    private BigDecimal targetBalanceAfter;
+
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
@@ -58,7 +73,7 @@ public class Transaction {
     @PrePersist
     void prePersist() {
         if (id == null) {
-            id = UUID.randomUUID().toString();
+            id = TimeOrderedIds.next();
         }
         if (createdAt == null) {
             createdAt = Instant.now();
@@ -68,10 +83,14 @@ public class Transaction {
         }
     }
 
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
     public String getIdempotencyKey() {
         return idempotencyKey;
     }
@@ -136,10 +155,30 @@ public class Transaction {
         this.description = description;
     }
 
+    public BigDecimal getSourceBalanceAfter() {
+        return sourceBalanceAfter;
+    }
+
+    public void setSourceBalanceAfter(BigDecimal sourceBalanceAfter) {
+        this.sourceBalanceAfter = sourceBalanceAfter;
+    }
+
+    public BigDecimal getTargetBalanceAfter() {
+        return targetBalanceAfter;
+    }
+
+    public void setTargetBalanceAfter(BigDecimal targetBalanceAfter) {
+        this.targetBalanceAfter = targetBalanceAfter;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
 
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public Instant getCompletedAt() {
         return completedAt;
     }
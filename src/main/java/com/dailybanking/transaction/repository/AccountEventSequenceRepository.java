@@ -0,0 +1,39 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.AccountEventSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface AccountEventSequenceRepository extends JpaRepository<AccountEventSequence, String> {
+
+    @Modifying
+    @Query("update AccountEventSequence s set s.lastSequence = s.lastSequence + :count where s.accountId = :accountId")
+    int advance(@Param("accountId") String accountId, @Param("count") long count);
+
+    @Modifying
+    @Query(value = "insert into account_event_sequences (account_id, last_sequence, balance) values (:accountId, 0, 0) "
+            + "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") String accountId);
+
+    @Query("select s.lastSequence from AccountEventSequence s where s.accountId = :accountId")
+    long findLastSequence(@Param("accountId") String accountId);
+
+    @Modifying
+    @Query("update AccountEventSequence s set s.balance = s.balance + :delta where s.accountId = :accountId")
+    int post(@Param("accountId") String accountId, @Param("delta") BigDecimal delta);
+
+    @Query("select s.accountId as accountId, s.balance as balance, s.postedAt as postedAt "
+            + "from AccountEventSequence s where s.accountId in :accountIds")
+    List<AccountPosting> findPostings(@Param("accountIds") Collection<String> accountIds);
+
+    @Modifying
+    @Query("update AccountEventSequence s set s.postedAt = :postedAt where s.accountId in :accountIds")
+    int stamp(@Param("accountIds") Collection<String> accountIds, @Param("postedAt") Instant postedAt);
+}
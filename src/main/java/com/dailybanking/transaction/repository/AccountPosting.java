@@ -0,0 +1,13 @@
+package com.dailybanking.transaction.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface AccountPosting {
+
+    String getAccountId();
+
+    BigDecimal getBalance();
+
+    Instant getPostedAt();
+}
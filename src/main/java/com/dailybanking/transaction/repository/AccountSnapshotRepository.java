@@ -0,0 +1,7 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.AccountSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountSnapshotRepository extends JpaRepository<AccountSnapshot, String> {
+}
@@ -0,0 +1,16 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(String accountId, Instant asOf);
+
+    @Query("select max(c.asOf) from BalanceCheckpoint c")
+    Instant findLatestAsOf();
+}
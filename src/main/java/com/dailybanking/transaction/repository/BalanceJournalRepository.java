@@ -0,0 +1,20 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.BalanceJournalEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BalanceJournalRepository extends JpaRepository<BalanceJournalEntry, Long> {
+
+    List<BalanceJournalEntry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from BalanceJournalEntry e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,55 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.DailyAccountAggregate;
+import com.dailybanking.transaction.model.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyAccountAggregateRepository
+        extends JpaRepository<DailyAccountAggregate, DailyAccountAggregate.Key> {
+
+    @Modifying
+    @Query(value = "insert into daily_account_aggregates (account_id, business_date, transaction_type, entry_type, "
+            + "transaction_count, total_amount, min_amount, max_amount) "
+            + "values (:accountId, :businessDate, :transactionType, :entryType, :count, :total, :min, :max) "
+            + "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") String accountId,
+                       @Param("businessDate") LocalDate businessDate,
+                       @Param("transactionType") String transactionType,
+                       @Param("entryType") String entryType,
+                       @Param("count") long count,
+                       @Param("total") BigDecimal total,
+                       @Param("min") BigDecimal min,
+                       @Param("max") BigDecimal max);
+
+    @Modifying
+    @Query("update DailyAccountAggregate a set a.transactionCount = a.transactionCount + :count, "
+            + "a.totalAmount = a.totalAmount + :total, "
+            + "a.minAmount = case when :min < a.minAmount then :min else a.minAmount end, "
+            + "a.maxAmount = case when :max > a.maxAmount then :max else a.maxAmount end "
+            + "where a.accountId = :accountId and a.businessDate = :businessDate "
+            + "and a.transactionType = :transactionType and a.entryType = :entryType")
+    int accumulate(@Param("accountId") String accountId,
+                   @Param("businessDate") LocalDate businessDate,
+                   @Param("transactionType") TransactionType transactionType,
+                   @Param("entryType") String entryType,
+                   @Param("count") long count,
+                   @Param("total") BigDecimal total,
+                   @Param("min") BigDecimal min,
+                   @Param("max") BigDecimal max);
+
+    @Modifying
+    @Query("delete from DailyAccountAggregate a where a.businessDate = :businessDate")
+    int deleteByBusinessDate(@Param("businessDate") LocalDate businessDate);
+
+    List<DailyAccountAggregate> findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAscTransactionTypeAscEntryTypeAsc(
+            String accountId,
+            LocalDate from,
+            LocalDate to);
+}
@@ -0,0 +1,20 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.TransactionType;
+
+import java.math.BigDecimal;
+
+public interface DailyTotals {
+
+    String getAccountId();
+
+    TransactionType getType();
+
+    long getTransactionCount();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getMinAmount();
+
+    BigDecimal getMaxAmount();
+}
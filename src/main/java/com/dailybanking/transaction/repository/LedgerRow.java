@@ -0,0 +1,43 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class LedgerRow {
+
+    private final UUID id;
+    private final TransactionType type;
+    private final String sourceAccountId;
+    private final String targetAccountId;
+    private final BigDecimal amount;
+
+    public LedgerRow(UUID id, TransactionType type, String sourceAccountId, String targetAccountId, BigDecimal amount) {
+        this.id = id;
+        this.type = type;
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.amount = amount;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public String getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
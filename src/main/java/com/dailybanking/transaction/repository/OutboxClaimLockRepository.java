@@ -0,0 +1,22 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.OutboxClaimLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxClaimLockRepository extends JpaRepository<OutboxClaimLock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from OutboxClaimLock l where l.name = :name")
+    Optional<OutboxClaimLock> findForUpdate(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "insert into outbox_claim_locks (name) values (:name) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+}
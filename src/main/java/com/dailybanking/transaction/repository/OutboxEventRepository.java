@@ -0,0 +1,40 @@
+package com.dailybanking.transaction.repository;
+
+import com.dailybanking.transaction.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.publishedAt is null"
+            + " and (e.claimedUntil is null or e.claimedUntil < :now)"
+            + " and not exists (select p.id from OutboxEvent p where p.messageKey = e.messageKey"
+            + " and p.id < e.id and p.publishedAt is null and p.claimedUntil >= :now) order by e.id")
+    List<OutboxEvent> findClaimable(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Instant claimedUntil);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = null where e.id in :ids and e.publishedAt is null")
+    int release(@Param("ids") Collection<Long> ids);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.publishedAt is null")
+    Instant findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
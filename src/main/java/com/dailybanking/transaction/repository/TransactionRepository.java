@@ -1,19 +1,121 @@
 package com.dailybanking.transaction.repository;
 
 import com.dailybanking.transaction.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, String> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
     Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 
+    @Query("select t.idempotencyKey from Transaction t where t.idempotencyKey in :keys")
+    Set<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    @Query("select t.idempotencyKey from Transaction t where t.idempotencyKey > :after order by t.idempotencyKey")
+    List<String> findIdempotencyKeysAfter(@Param("after") String after, Pageable pageable);
+
     List<Transaction> findBySourceAccountIdOrTargetAccountIdOrderByCreatedAtDesc(
             String sourceAccountId,
             String targetAccountId);
 
-    List<Transaction> findByCreatedAtBetweenOrderByCreatedAtDesc(Instant from, Instant to);
+    List<Transaction> findBySourceAccountIdOrderByCreatedAtDescIdDesc(String sourceAccountId, Pageable pageable);
+
+    List<Transaction> findByTargetAccountIdOrderByCreatedAtDescIdDesc(String targetAccountId, Pageable pageable);
+
+    @Query("select t from Transaction t where t.sourceAccountId = :accountId "
+            + "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) "
+            + "order by t.createdAt desc, t.id desc")
+    List<Transaction> findSourcePageBefore(@Param("accountId") String accountId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    @Query("select t from Transaction t where t.targetAccountId = :accountId "
+            + "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) "
+            + "order by t.createdAt desc, t.id desc")
+    List<Transaction> findTargetPageBefore(@Param("accountId") String accountId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    Optional<Transaction> findFirstBySourceAccountIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+            String sourceAccountId,
+            Instant asOf);
+
+    Optional<Transaction> findFirstByTargetAccountIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+            String targetAccountId,
+            Instant asOf);
+
+    @Query("select coalesce(sum(case when t.type = com.dailybanking.transaction.model.TransactionType.DEPOSIT "
+            + "then t.amount else -t.amount end), 0) from Transaction t where t.sourceAccountId = :accountId "
+            + "and t.createdAt > :from and t.createdAt <= :to")
+    BigDecimal sumSourceDeltas(@Param("accountId") String accountId,
+                               @Param("from") Instant from,
+                               @Param("to") Instant to);
+
+    @Query("select coalesce(sum(t.amount), 0) from Transaction t where t.targetAccountId = :accountId "
+            + "and t.createdAt > :from and t.createdAt <= :to")
+    BigDecimal sumTargetDeltas(@Param("accountId") String accountId,
+                               @Param("from") Instant from,
+                               @Param("to") Instant to);
+
+    @Query("select distinct t.sourceAccountId from Transaction t where t.createdAt > :from and t.createdAt <= :to")
+    Set<String> findSourceAccountsActiveBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select distinct t.targetAccountId from Transaction t where t.targetAccountId is not null "
+            + "and t.createdAt > :from and t.createdAt <= :to")
+    Set<String> findTargetAccountsActiveBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select t.sourceAccountId as accountId, t.type as type, count(t) as transactionCount, "
+            + "sum(t.amount) as totalAmount, min(t.amount) as minAmount, max(t.amount) as maxAmount "
+            + "from Transaction t where t.createdAt >= :from and t.createdAt < :to "
+            + "group by t.sourceAccountId, t.type")
+    List<DailyTotals> totalBySourceAccountBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select t.targetAccountId as accountId, t.type as type, count(t) as transactionCount, "
+            + "sum(t.amount) as totalAmount, min(t.amount) as minAmount, max(t.amount) as maxAmount "
+            + "from Transaction t where t.targetAccountId is not null and t.createdAt >= :from and t.createdAt < :to "
+            + "group by t.targetAccountId, t.type")
+    List<DailyTotals> totalByTargetAccountBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    Optional<Transaction> findFirstByOrderByIdAsc();
+
+    Optional<Transaction> findFirstByOrderByIdDesc();
+
+    @Query("select new com.dailybanking.transaction.repository.LedgerRow(t.id, t.type, t.sourceAccountId, "
+            + "t.targetAccountId, t.amount) from Transaction t where t.id > :after and t.id <= :upTo order by t.id")
+    List<LedgerRow> findLedgerRows(@Param("after") UUID after, @Param("upTo") UUID upTo, Pageable pageable);
+
+    @Query("select t from Transaction t where t.id > :after and t.createdAt < :cutoff order by t.id")
+    List<Transaction> findArchivable(@Param("after") UUID after, @Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Transaction t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Transaction t where t.createdAt >= :from and t.createdAt < :to order by t.createdAt")
+    Stream<Transaction> streamByCreatedAtBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Transaction t where (t.sourceAccountId = :accountId or t.targetAccountId = :accountId) "
+            + "and t.createdAt >= :from and t.createdAt < :to order by t.createdAt")
+    Stream<Transaction> streamByAccountAndCreatedAtBetween(@Param("accountId") String accountId,
+                                                           @Param("from") Instant from,
+                                                           @Param("to") Instant to);
 }
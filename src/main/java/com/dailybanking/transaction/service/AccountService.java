@@ -1,42 +1,150 @@
 package com.dailybanking.transaction.service;
 
-import com.dailybanking.transaction.exception.InsufficientBalanceException;
 import com.dailybanking.transaction.exception.InvalidAccountException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
 
 @Service
 public class AccountService {
 
-    private final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+    private final BalanceBook balances;
+    private final BalanceLedger ledger;
+
+    public AccountService(BalanceLedger ledger,
+                          @Value("${app.accounts.lock-stripes:1024}") int lockStripes,
+                          @Value("${app.accounts.hot.cells:0}") int hotCells) {
+        this.ledger = ledger;
+        this.balances = new BalanceBook(lockStripes,
+                hotCells > 0 ? hotCells : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PostConstruct
+    void restoreBalances() {
+        balances.load(ledger.recover());
+    }
 
     public void ensureExists(String accountId) {
         if (accountId == null || accountId.isBlank()) {
             throw new InvalidAccountException("Account id must not be blank");
         }
-        balances.putIfAbsent(accountId, BigDecimal.ZERO);
+        balances.open(accountId);
     }
 
     public BigDecimal getBalance(String accountId) {
         ensureExists(accountId);
-        return balances.get(accountId);
+        return MinorUnits.toDecimal(balances.balance(accountId));
+    }
+
+    public void forEachBalance(ObjLongConsumer<String> consumer) {
+        balances.forEach(consumer);
     }
 
     public void deposit(String accountId, BigDecimal amount) {
         ensureExists(accountId);
-        balances.compute(accountId, (key, value) -> value.add(amount));
+        long minor = MinorUnits.toMinor(amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            balances.credit(accountId, minor);
+            ledger.append(accountId, amount);
+            return;
+        }
+        balances.reserveCredit(accountId, minor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                balances.settleCredit(accountId, minor);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    balances.releaseCredit(accountId, minor);
+                }
+            }
+        });
+        ledger.append(accountId, amount);
     }
 
     public void withdraw(String accountId, BigDecimal amount) {
         ensureExists(accountId);
-        balances.compute(accountId, (key, value) -> {
-            if (value.compareTo(amount) < 0) {
-                throw new InsufficientBalanceException("Insufficient balance for account " + accountId);
+        long minor = MinorUnits.toMinor(amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            balances.debit(accountId, minor);
+            ledger.append(accountId, amount.negate());
+            return;
+        }
+        balances.reserveDebit(accountId, minor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                balances.settleDebit(accountId, minor);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    balances.releaseDebit(accountId, minor);
+                }
             }
-            return value.subtract(amount);
         });
+        ledger.append(accountId, amount.negate());
+    }
+
+    public void transfer(String sourceAccountId, String targetAccountId, BigDecimal amount) {
+        ensureExists(sourceAccountId);
+        ensureExists(targetAccountId);
+        long minor = MinorUnits.toMinor(amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            balances.transfer(sourceAccountId, targetAccountId, minor);
+            ledger.append(sourceAccountId, amount.negate());
+            ledger.append(targetAccountId, amount);
+            return;
+        }
+        balances.reserveDebit(sourceAccountId, minor);
+        try {
+            balances.reserveCredit(targetAccountId, minor);
+        } catch (RuntimeException ex) {
+            balances.releaseDebit(sourceAccountId, minor);
+            throw ex;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                balances.settleTransfer(sourceAccountId, targetAccountId, minor);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    balances.releaseDebit(sourceAccountId, minor);
+                    balances.releaseCredit(targetAccountId, minor);
+                }
+            }
+        });
+        ledger.append(sourceAccountId, amount.negate());
+        ledger.append(targetAccountId, amount);
+    }
+
+    public List<String> promoteContended(int threshold) {
+        return balances.promoteContended(threshold);
+    }
+
+    public boolean promote(String accountId) {
+        ensureExists(accountId);
+        return balances.promote(accountId);
+    }
+
+    public boolean isHot(String accountId) {
+        return balances.isHot(accountId);
+    }
+
+    public int hotAccountCount() {
+        return balances.hotAccountCount();
     }
 }
@@ -0,0 +1,105 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.ConcurrencyLimitExceededException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+
+@Service
+public class AdmissionControl {
+
+    public static final String READ_BULKHEAD = "transactionReads";
+    public static final String WRITE_BULKHEAD = "transactionWrites";
+    public static final String EXPORT_BULKHEAD = "transactionExports";
+
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead exportBulkhead;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final boolean writeLimitEnabled;
+    private final Counter writeLimitRejections;
+
+    public AdmissionControl(BulkheadRegistry bulkheadRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.write-limit.enabled:true}") boolean writeLimitEnabled,
+                            @Value("${app.write-limit.initial:20}") int initialLimit,
+                            @Value("${app.write-limit.min:4}") int minLimit,
+                            @Value("${app.write-limit.max:200}") int maxLimit,
+                            @Value("${app.write-limit.latency-threshold-ms:250}") long latencyThresholdMs,
+                            @Value("${app.write-limit.backoff-ratio:0.9}") double backoffRatio) {
+        this.readBulkhead = bulkheadRegistry.bulkhead(READ_BULKHEAD);
+        this.writeBulkhead = bulkheadRegistry.bulkhead(WRITE_BULKHEAD);
+        this.exportBulkhead = bulkheadRegistry.bulkhead(EXPORT_BULKHEAD);
+        this.writeLimitEnabled = writeLimitEnabled;
+        this.writeLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThresholdMs,
+                backoffRatio);
+
+        countRejections(readBulkhead, "read", meterRegistry);
+        countRejections(writeBulkhead, "write", meterRegistry);
+        countRejections(exportBulkhead, "export", meterRegistry);
+        this.writeLimitRejections = rejections("write", "limit", meterRegistry);
+        Gauge.builder("transaction.write.limit", writeLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for writes")
+                .register(meterRegistry);
+        Gauge.builder("transaction.write.in.flight", writeLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .register(meterRegistry);
+    }
+
+    public <T> T read(Supplier<T> call) {
+        return readBulkhead.executeSupplier(call);
+    }
+
+    public StreamingResponseBody export(StreamingResponseBody body) {
+        exportBulkhead.acquirePermission();
+        return output -> {
+            try {
+                body.writeTo(output);
+            } finally {
+                exportBulkhead.onComplete();
+            }
+        };
+    }
+
+    public <T> T write(Supplier<T> call) {
+        if (!writeLimitEnabled) {
+            return writeBulkhead.executeSupplier(call);
+        }
+        if (!writeLimit.tryAcquire()) {
+            writeLimitRejections.increment();
+            throw new ConcurrencyLimitExceededException(writeLimit.getLimit());
+        }
+        long started = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return writeBulkhead.executeSupplier(call);
+        } catch (BulkheadFullException | CannotCreateTransactionException | TransientDataAccessException ex) {
+            dropped = true;
+            throw ex;
+        } finally {
+            writeLimit.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    private static void countRejections(Bulkhead bulkhead, String operation, MeterRegistry meterRegistry) {
+        Counter rejected = rejections(operation, "bulkhead", meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+    }
+
+    private static Counter rejections(String operation, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("transaction.admission.rejected")
+                .description("Requests shed before reaching the service")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
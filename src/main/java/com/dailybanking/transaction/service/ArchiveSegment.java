@@ -0,0 +1,487 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+final class ArchiveSegment {
+
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x54585347;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 92;
+    private static final int BLOCK_ENTRY_BYTES = 68;
+    private static final int FIXED_ROW_BYTES = 64;
+    private static final int STRING_COLUMNS = 5;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NO_ACCOUNT = -1;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final int blocks;
+    private final int accounts;
+    private final Instant minCreatedAt;
+    private final Instant maxCreatedAt;
+    private final UUID minId;
+    private final UUID maxId;
+    private final int dictionaryOffset;
+    private final int dictionaryData;
+    private final int deltasOffset;
+    private final int blockIndexOffset;
+
+    private ArchiveSegment(Path path, ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported archive segment version " + buffer.getInt(4) + ": " + path);
+        }
+        this.path = path;
+        this.buffer = buffer;
+        this.rows = buffer.getInt(8);
+        this.blocks = buffer.getInt(12);
+        this.accounts = buffer.getInt(16);
+        this.minCreatedAt = ofMicros(buffer.getLong(20));
+        this.maxCreatedAt = ofMicros(buffer.getLong(28));
+        this.minId = new UUID(buffer.getLong(36), buffer.getLong(44));
+        this.maxId = new UUID(buffer.getLong(52), buffer.getLong(60));
+        this.dictionaryOffset = Math.toIntExact(buffer.getLong(68));
+        this.dictionaryData = dictionaryOffset + 4 * (accounts + 1);
+        this.deltasOffset = Math.toIntExact(buffer.getLong(76));
+        this.blockIndexOffset = Math.toIntExact(buffer.getLong(84));
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(path, buffer);
+        }
+    }
+
+    static ArchiveSegment write(Path directory, List<Transaction> transactions, int blockRows) throws IOException {
+        List<Transaction> sorted = new ArrayList<>(transactions);
+        sorted.sort((left, right) -> TimeOrderedIds.ORDER.compare(left.getId(), right.getId()));
+
+        TreeSet<String> accountIds = new TreeSet<>();
+        for (Transaction transaction : sorted) {
+            accountIds.add(transaction.getSourceAccountId());
+            if (transaction.getTargetAccountId() != null) {
+                accountIds.add(transaction.getTargetAccountId());
+            }
+        }
+        List<String> dictionary = new ArrayList<>(accountIds);
+        Map<String, Integer> codes = new HashMap<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            codes.put(dictionary.get(code), code);
+        }
+
+        long[] deltas = new long[dictionary.size()];
+        long minCreated = Long.MAX_VALUE;
+        long maxCreated = Long.MIN_VALUE;
+        for (Transaction transaction : sorted) {
+            long amount = MinorUnits.toMinor(transaction.getAmount());
+            int source = codes.get(transaction.getSourceAccountId());
+            switch (transaction.getType()) {
+                case DEPOSIT -> deltas[source] += amount;
+                case WITHDRAWAL -> deltas[source] -= amount;
+                case TRANSFER -> {
+                    deltas[source] -= amount;
+                    deltas[codes.get(transaction.getTargetAccountId())] += amount;
+                }
+            }
+            minCreated = Math.min(minCreated, micros(transaction.getCreatedAt()));
+            maxCreated = Math.max(maxCreated, micros(transaction.getCreatedAt()));
+        }
+
+        byte[][] names = new byte[dictionary.size()][];
+        int dictionaryBytes = 0;
+        for (int code = 0; code < names.length; code++) {
+            names[code] = dictionary.get(code).getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += names[code].length;
+        }
+
+        int blockCount = (sorted.size() + blockRows - 1) / blockRows;
+        List<byte[]> compressed = new ArrayList<>(blockCount);
+        ByteBuffer index = ByteBuffer.allocate(blockCount * BLOCK_ENTRY_BYTES);
+        long dictionaryOffset = HEADER_BYTES;
+        long deltasOffset = dictionaryOffset + 4L * (names.length + 1) + dictionaryBytes;
+        long blockIndexOffset = deltasOffset + 8L * deltas.length;
+        long blockOffset = blockIndexOffset + (long) blockCount * BLOCK_ENTRY_BYTES;
+        for (int from = 0; from < sorted.size(); from += blockRows) {
+            List<Transaction> block = sorted.subList(from, Math.min(sorted.size(), from + blockRows));
+            byte[] raw = encodeBlock(block, codes);
+            byte[] packed = deflate(raw);
+            long blockMin = Long.MAX_VALUE;
+            long blockMax = Long.MIN_VALUE;
+            for (Transaction transaction : block) {
+                blockMin = Math.min(blockMin, micros(transaction.getCreatedAt()));
+                blockMax = Math.max(blockMax, micros(transaction.getCreatedAt()));
+            }
+            UUID first = block.get(0).getId();
+            UUID last = block.get(block.size() - 1).getId();
+            index.putLong(first.getMostSignificantBits()).putLong(first.getLeastSignificantBits())
+                    .putLong(last.getMostSignificantBits()).putLong(last.getLeastSignificantBits())
+                    .putLong(blockMin).putLong(blockMax)
+                    .putLong(blockOffset).putInt(packed.length).putInt(raw.length).putInt(block.size());
+            compressed.add(packed);
+            blockOffset += packed.length;
+        }
+        if (blockOffset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Archive segment would exceed 2 GiB; lower app.archive.segment-rows");
+        }
+
+        ByteBuffer head = ByteBuffer.allocate(Math.toIntExact(blockIndexOffset));
+        UUID minId = sorted.get(0).getId();
+        UUID maxId = sorted.get(sorted.size() - 1).getId();
+        head.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(blockCount).putInt(names.length)
+                .putLong(minCreated).putLong(maxCreated)
+                .putLong(minId.getMostSignificantBits()).putLong(minId.getLeastSignificantBits())
+                .putLong(maxId.getMostSignificantBits()).putLong(maxId.getLeastSignificantBits())
+                .putLong(dictionaryOffset).putLong(deltasOffset).putLong(blockIndexOffset);
+        int nameOffset = 0;
+        for (byte[] name : names) {
+            head.putInt(nameOffset);
+            nameOffset += name.length;
+        }
+        head.putInt(nameOffset);
+        for (byte[] name : names) {
+            head.put(name);
+        }
+        for (long delta : deltas) {
+            head.putLong(delta);
+        }
+
+        Path target = directory.resolve(String.format("%016x-%s%s", minCreated, minId, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, head.flip());
+            writeFully(channel, index.flip());
+            for (byte[] packed : compressed) {
+                writeFully(channel, ByteBuffer.wrap(packed));
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return open(target);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int blocks() {
+        return blocks;
+    }
+
+    long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    Instant minCreatedAt() {
+        return minCreatedAt;
+    }
+
+    Instant maxCreatedAt() {
+        return maxCreatedAt;
+    }
+
+    boolean covers(UUID id) {
+        return TimeOrderedIds.ORDER.compare(minId, id) <= 0 && TimeOrderedIds.ORDER.compare(id, maxId) <= 0;
+    }
+
+    int accountCode(String accountId) {
+        int low = 0;
+        int high = accounts - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = accountId(middle).compareTo(accountId);
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NO_ACCOUNT;
+    }
+
+    long netDelta(int accountCode) {
+        return buffer.getLong(deltasOffset + 8 * accountCode);
+    }
+
+    void forEachNetDelta(ObjLongConsumer<String> consumer) {
+        for (int code = 0; code < accounts; code++) {
+            consumer.accept(accountId(code), netDelta(code));
+        }
+    }
+
+    Instant blockMinCreatedAt(int block) {
+        return ofMicros(buffer.getLong(blockIndexOffset + block * BLOCK_ENTRY_BYTES + 32));
+    }
+
+    Instant blockMaxCreatedAt(int block) {
+        return ofMicros(buffer.getLong(blockIndexOffset + block * BLOCK_ENTRY_BYTES + 40));
+    }
+
+    Optional<Transaction> find(UUID id) {
+        if (!covers(id)) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = blocks - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = blockIndexOffset + middle * BLOCK_ENTRY_BYTES;
+            if (TimeOrderedIds.ORDER.compare(new UUID(buffer.getLong(entry + 16), buffer.getLong(entry + 24)), id) < 0) {
+                low = middle + 1;
+            } else if (TimeOrderedIds.ORDER.compare(new UUID(buffer.getLong(entry), buffer.getLong(entry + 8)), id) > 0) {
+                high = middle - 1;
+            } else {
+                Block block = block(middle);
+                int row = block.indexOf(id);
+                return row < 0 ? Optional.empty() : Optional.of(block.transaction(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    Block block(int block) {
+        int entry = blockIndexOffset + block * BLOCK_ENTRY_BYTES;
+        int offset = Math.toIntExact(buffer.getLong(entry + 48));
+        int compressedLength = buffer.getInt(entry + 56);
+        byte[] raw = new byte[buffer.getInt(entry + 60)];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+            if (inflated != raw.length) {
+                throw new IllegalStateException("Truncated block " + block + " in archive segment " + path);
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt block " + block + " in archive segment " + path, ex);
+        } finally {
+            inflater.end();
+        }
+        return new Block(ByteBuffer.wrap(raw), buffer.getInt(entry + 64));
+    }
+
+    private String accountId(int code) {
+        int start = buffer.getInt(dictionaryOffset + 4 * code);
+        int end = buffer.getInt(dictionaryOffset + 4 * (code + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(dictionaryData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encodeBlock(List<Transaction> block, Map<String, Integer> codes) {
+        int count = block.size();
+        List<Function<Transaction, String>> columns = List.of(
+                transaction -> transaction.getType().name(),
+                transaction -> transaction.getStatus().name(),
+                Transaction::getCurrency,
+                Transaction::getIdempotencyKey,
+                Transaction::getDescription);
+        byte[][][] strings = new byte[STRING_COLUMNS][count][];
+        int size = FIXED_ROW_BYTES * count;
+        for (int column = 0; column < STRING_COLUMNS; column++) {
+            size += 4 * (count + 1);
+            for (int row = 0; row < count; row++) {
+                String value = columns.get(column).apply(block.get(row));
+                if (value != null) {
+                    strings[column][row] = value.getBytes(StandardCharsets.UTF_8);
+                    size += strings[column][row].length + 1;
+                }
+            }
+        }
+
+        ByteBuffer raw = ByteBuffer.allocate(size);
+        block.forEach(transaction -> raw.putLong(transaction.getId().getMostSignificantBits()));
+        block.forEach(transaction -> raw.putLong(transaction.getId().getLeastSignificantBits()));
+        block.forEach(transaction -> raw.putLong(micros(transaction.getCreatedAt())));
+        block.forEach(transaction -> raw.putLong(transaction.getCompletedAt() == null
+                ? NULL_LONG : micros(transaction.getCompletedAt())));
+        block.forEach(transaction -> raw.putInt(codes.get(transaction.getSourceAccountId())));
+        block.forEach(transaction -> raw.putInt(transaction.getTargetAccountId() == null
+                ? NO_ACCOUNT : codes.get(transaction.getTargetAccountId())));
+        block.forEach(transaction -> raw.putLong(MinorUnits.toMinor(transaction.getAmount())));
+        block.forEach(transaction -> raw.putLong(minorOrNull(transaction.getSourceBalanceAfter())));
+        block.forEach(transaction -> raw.putLong(minorOrNull(transaction.getTargetBalanceAfter())));
+        for (byte[][] column : strings) {
+            int offset = 0;
+            raw.putInt(offset);
+            for (byte[] value : column) {
+                offset += value == null ? 0 : value.length + 1;
+                raw.putInt(offset);
+            }
+            for (byte[] value : column) {
+                if (value != null) {
+                    raw.put((byte) 1).put(value);
+                }
+            }
+        }
+        return raw.array();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] packed = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == packed.length) {
+                    packed = Arrays.copyOf(packed, packed.length * 2);
+                }
+                length += deflater.deflate(packed, length, packed.length - length);
+            }
+            return Arrays.copyOf(packed, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private static long minorOrNull(BigDecimal amount) {
+        return amount == null ? NULL_LONG : MinorUnits.toMinor(amount);
+    }
+
+    private static BigDecimal decimalOrNull(long minor) {
+        return minor == NULL_LONG ? null : MinorUnits.toDecimal(minor);
+    }
+
+    private static long micros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static Instant ofMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    final class Block {
+
+        private final ByteBuffer raw;
+        private final int rows;
+        private final int[] stringColumns = new int[STRING_COLUMNS];
+
+        private Block(ByteBuffer raw, int rows) {
+            this.raw = raw;
+            this.rows = rows;
+            int column = FIXED_ROW_BYTES * rows;
+            for (int i = 0; i < STRING_COLUMNS; i++) {
+                stringColumns[i] = column;
+                column += 4 * (rows + 1) + raw.getInt(column + 4 * rows);
+            }
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        UUID id(int row) {
+            return new UUID(raw.getLong(8 * row), raw.getLong(8 * (rows + row)));
+        }
+
+        Instant createdAt(int row) {
+            return ofMicros(raw.getLong(8 * (2 * rows + row)));
+        }
+
+        boolean touches(int row, int accountCode) {
+            return raw.getInt(32 * rows + 4 * row) == accountCode || raw.getInt(36 * rows + 4 * row) == accountCode;
+        }
+
+        int indexOf(UUID id) {
+            int low = 0;
+            int high = rows - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int order = TimeOrderedIds.ORDER.compare(id(middle), id);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        Transaction transaction(int row) {
+            Transaction transaction = new Transaction();
+            transaction.setId(id(row));
+            transaction.setCreatedAt(createdAt(row));
+            long completedAt = raw.getLong(8 * (3 * rows + row));
+            transaction.setCompletedAt(completedAt == NULL_LONG ? null : ofMicros(completedAt));
+            transaction.setSourceAccountId(accountId(raw.getInt(32 * rows + 4 * row)));
+            int target = raw.getInt(36 * rows + 4 * row);
+            transaction.setTargetAccountId(target == NO_ACCOUNT ? null : accountId(target));
+            transaction.setAmount(MinorUnits.toDecimal(raw.getLong(40 * rows + 8 * row)));
+            transaction.setSourceBalanceAfter(decimalOrNull(raw.getLong(48 * rows + 8 * row)));
+            transaction.setTargetBalanceAfter(decimalOrNull(raw.getLong(56 * rows + 8 * row)));
+            transaction.setType(TransactionType.valueOf(string(0, row)));
+            transaction.setStatus(TransactionStatus.valueOf(string(1, row)));
+            transaction.setCurrency(string(2, row));
+            transaction.setIdempotencyKey(string(3, row));
+            transaction.setDescription(string(4, row));
+            return transaction;
+        }
+
+        private String string(int column, int row) {
+            int offsets = stringColumns[column];
+            int start = raw.getInt(offsets + 4 * row);
+            int end = raw.getInt(offsets + 4 * (row + 1));
+            if (end == start) {
+                return null;
+            }
+            int data = offsets + 4 * (rows + 1);
+            return new String(raw.array(), data + start + 1, end - start - 1, StandardCharsets.UTF_8);
+        }
+    }
+}
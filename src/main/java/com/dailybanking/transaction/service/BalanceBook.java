@@ -0,0 +1,439 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.BalanceOverflowException;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjLongConsumer;
+
+public class BalanceBook {
+
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final LongBalanceTable[] tables;
+    private final LongBalanceTable[] holds;
+    private final LongBalanceTable[] incoming;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final int hotCells;
+    private final ConcurrentHashMap<String, HotAccountBalance> hotAccounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> contention = new ConcurrentHashMap<>();
+
+    public BalanceBook(int lockStripes) {
+        this(lockStripes, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BalanceBook(int lockStripes, int hotCells) {
+        this.hotCells = hotCells;
+        int size = lockStripes <= 1 ? 1 : Integer.highestOneBit(lockStripes - 1) << 1;
+        this.tables = new LongBalanceTable[size];
+        this.holds = new LongBalanceTable[size];
+        this.incoming = new LongBalanceTable[size];
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            tables[i] = new LongBalanceTable(0);
+            holds[i] = new LongBalanceTable(0);
+            incoming[i] = new LongBalanceTable(0);
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public void load(Map<String, BigDecimal> snapshot) {
+        snapshot.forEach((accountId, balance) -> credit(accountId, MinorUnits.toMinor(balance)));
+    }
+
+    public long balance(String accountId) {
+        HotAccountBalance hot = hotAccounts.get(accountId);
+        if (hot != null) {
+            return hot.balance();
+        }
+        int stripe = stripe(accountId);
+        ReentrantLock lock = lock(stripe, accountId);
+        try {
+            hot = hotAccounts.get(accountId);
+            if (hot == null) {
+                return tables[stripe].get(accountId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return hot.balance();
+    }
+
+    public void open(String accountId) {
+        int stripe = stripe(accountId);
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            tables[stripe].putIfAbsent(accountId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void forEach(ObjLongConsumer<String> consumer) {
+        for (int stripe = 0; stripe < tables.length; stripe++) {
+            LongBalanceTable copy;
+            stripes[stripe].lock();
+            try {
+                copy = new LongBalanceTable(tables[stripe].size());
+                tables[stripe].forEach(copy::put);
+            } finally {
+                stripes[stripe].unlock();
+            }
+            copy.forEach((accountId, balance) -> {
+                HotAccountBalance hot = hotAccounts.get(accountId);
+                consumer.accept(accountId, hot == null ? balance : hot.balance());
+            });
+        }
+    }
+
+    public long credit(String accountId, long amount) {
+        HotAccountBalance hot = hotAccounts.get(accountId);
+        if (hot == null) {
+            int stripe = stripe(accountId);
+            ReentrantLock lock = lock(stripe, accountId);
+            try {
+                hot = hotAccounts.get(accountId);
+                if (hot == null) {
+                    return creditCold(stripe, accountId, amount);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        hot.adjust(amount);
+        return UNKNOWN;
+    }
+
+    public long debit(String accountId, long amount) {
+        HotAccountBalance hot = hotAccounts.get(accountId);
+        if (hot == null) {
+            int stripe = stripe(accountId);
+            ReentrantLock lock = lock(stripe, accountId);
+            try {
+                hot = hotAccounts.get(accountId);
+                if (hot == null) {
+                    return debitCold(stripe, accountId, amount);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        hot.debit(amount);
+        return UNKNOWN;
+    }
+
+    public void reserveDebit(String accountId, long amount) {
+        apply(accountId, stripe -> {
+            long held = holds[stripe].get(accountId);
+            checkedDebit(accountId, tables[stripe].get(accountId) - held, amount);
+            holds[stripe].put(accountId, held + amount);
+        }, hot -> hot.reserveDebit(amount));
+    }
+
+    public void releaseDebit(String accountId, long amount) {
+        apply(accountId, stripe -> holds[stripe].put(accountId, holds[stripe].get(accountId) - amount),
+                hot -> hot.releaseDebit(amount));
+    }
+
+    public void settleDebit(String accountId, long amount) {
+        apply(accountId, stripe -> settleDebitCold(stripe, accountId, amount), hot -> hot.settleDebit(amount));
+    }
+
+    public void reserveCredit(String accountId, long amount) {
+        apply(accountId, stripe -> {
+            long reserved = checkedCredit(accountId, incoming[stripe].get(accountId), amount);
+            checkedCredit(accountId, tables[stripe].get(accountId), reserved);
+            incoming[stripe].put(accountId, reserved);
+        }, hot -> hot.reserveCredit(amount));
+    }
+
+    public void releaseCredit(String accountId, long amount) {
+        apply(accountId, stripe -> incoming[stripe].put(accountId, incoming[stripe].get(accountId) - amount),
+                hot -> hot.releaseCredit(amount));
+    }
+
+    public void settleCredit(String accountId, long amount) {
+        apply(accountId, stripe -> settleCreditCold(stripe, accountId, amount), hot -> hot.settleCredit(amount));
+    }
+
+    public void settleTransfer(String sourceAccountId, String targetAccountId, long amount) {
+        while (true) {
+            HotAccountBalance sourceHot = hotAccounts.get(sourceAccountId);
+            HotAccountBalance targetHot = hotAccounts.get(targetAccountId);
+            List<ReentrantLock> locks = lockInOrder(sourceAccountId, sourceHot, targetAccountId, targetHot);
+            try {
+                if ((sourceHot == null && hotAccounts.containsKey(sourceAccountId))
+                        || (targetHot == null && hotAccounts.containsKey(targetAccountId))) {
+                    continue;
+                }
+                if (sourceHot == null) {
+                    settleDebitCold(stripe(sourceAccountId), sourceAccountId, amount);
+                } else {
+                    sourceHot.settleDebit(amount);
+                }
+                if (targetHot == null) {
+                    settleCreditCold(stripe(targetAccountId), targetAccountId, amount);
+                } else {
+                    targetHot.settleCredit(amount);
+                }
+                return;
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        }
+    }
+
+    public boolean isHot(String accountId) {
+        return hotAccounts.containsKey(accountId);
+    }
+
+    public int hotAccountCount() {
+        return hotAccounts.size();
+    }
+
+    public boolean promote(String accountId) {
+        int stripe = stripe(accountId);
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            if (hotAccounts.containsKey(accountId)) {
+                return false;
+            }
+            LongBalanceTable table = tables[stripe];
+            long held = holds[stripe].get(accountId);
+            long reserved = incoming[stripe].get(accountId);
+            hotAccounts.put(accountId, new HotAccountBalance(accountId, hotCells,
+                    table.get(accountId) - held, held, reserved));
+            table.put(accountId, 0L);
+            holds[stripe].put(accountId, 0L);
+            incoming[stripe].put(accountId, 0L);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<String> promoteContended(int threshold) {
+        List<String> promoted = new ArrayList<>();
+        for (String accountId : contention.keySet()) {
+            Integer waits = contention.remove(accountId);
+            if (waits != null && waits >= threshold && promote(accountId)) {
+                promoted.add(accountId);
+            }
+        }
+        return promoted;
+    }
+
+    public void transfer(String sourceAccountId, String targetAccountId, long amount) {
+        transfer(sourceAccountId, targetAccountId, amount, null);
+    }
+
+    public void transfer(String sourceAccountId, String targetAccountId, long amount, long[] balancesAfter) {
+        boolean hot = !hotAccounts.isEmpty()
+                && (hotAccounts.containsKey(sourceAccountId) || hotAccounts.containsKey(targetAccountId));
+        if (hot || !transferLocked(sourceAccountId, targetAccountId, amount, balancesAfter)) {
+            transferAcrossCells(sourceAccountId, targetAccountId, amount, balancesAfter);
+        }
+    }
+
+    private boolean transferLocked(String sourceAccountId, String targetAccountId, long amount,
+                                   long[] balancesAfter) {
+        int sourceStripe = stripe(sourceAccountId);
+        int targetStripe = stripe(targetAccountId);
+        int firstStripe = Math.min(sourceStripe, targetStripe);
+        ReentrantLock first = lock(firstStripe, firstStripe == sourceStripe ? sourceAccountId : targetAccountId);
+        ReentrantLock second = stripes[Math.max(sourceStripe, targetStripe)];
+        try {
+            if (second != first) {
+                second.lock();
+            }
+            try {
+                if (hotAccounts.containsKey(sourceAccountId) || hotAccounts.containsKey(targetAccountId)) {
+                    return false;
+                }
+                LongBalanceTable source = tables[sourceStripe];
+                LongBalanceTable target = tables[targetStripe];
+                long sourceBalance = source.get(sourceAccountId);
+                checkedDebit(sourceAccountId, sourceBalance - holds[sourceStripe].get(sourceAccountId), amount);
+                long debited = sourceBalance - amount;
+                long credited = debited + amount;
+                if (!sourceAccountId.equals(targetAccountId)) {
+                    credited = checkedCredit(targetAccountId, target.get(targetAccountId), amount);
+                    checkedCredit(targetAccountId, credited, incoming[targetStripe].get(targetAccountId));
+                    source.put(sourceAccountId, debited);
+                    target.put(targetAccountId, credited);
+                }
+                if (balancesAfter != null) {
+                    balancesAfter[0] = sourceAccountId.equals(targetAccountId) ? credited : debited;
+                    balancesAfter[1] = credited;
+                }
+                return true;
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private void transferAcrossCells(String sourceAccountId, String targetAccountId, long amount,
+                                     long[] balancesAfter) {
+        while (true) {
+            HotAccountBalance sourceHot = hotAccounts.get(sourceAccountId);
+            HotAccountBalance targetHot = hotAccounts.get(targetAccountId);
+            List<ReentrantLock> locks = lockInOrder(sourceAccountId, sourceHot, targetAccountId, targetHot);
+            try {
+                if ((sourceHot == null && hotAccounts.containsKey(sourceAccountId))
+                        || (targetHot == null && hotAccounts.containsKey(targetAccountId))) {
+                    continue;
+                }
+                long debited = debitHeld(sourceAccountId, sourceHot, amount);
+                long credited;
+                try {
+                    credited = creditHeld(targetAccountId, targetHot, amount);
+                } catch (RuntimeException ex) {
+                    creditHeld(sourceAccountId, sourceHot, amount);
+                    throw ex;
+                }
+                if (balancesAfter != null) {
+                    balancesAfter[0] = sourceAccountId.equals(targetAccountId) ? credited : debited;
+                    balancesAfter[1] = credited;
+                }
+                return;
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        }
+    }
+
+    private List<ReentrantLock> lockInOrder(String sourceAccountId, HotAccountBalance sourceHot,
+                                            String targetAccountId, HotAccountBalance targetHot) {
+        List<ReentrantLock> locks = new ArrayList<>(2);
+        int sourceStripe = sourceHot == null ? stripe(sourceAccountId) : -1;
+        int targetStripe = targetHot == null ? stripe(targetAccountId) : -1;
+        if (sourceStripe >= 0 && (targetStripe < 0 || sourceStripe <= targetStripe)) {
+            locks.add(lock(sourceStripe, sourceAccountId));
+        }
+        if (targetStripe >= 0 && targetStripe != sourceStripe) {
+            locks.add(lock(targetStripe, targetAccountId));
+        }
+        if (sourceStripe >= 0 && targetStripe >= 0 && sourceStripe > targetStripe) {
+            locks.add(lock(sourceStripe, sourceAccountId));
+        }
+        boolean sourceFirst = sourceAccountId.compareTo(targetAccountId) <= 0;
+        HotAccountBalance first = sourceFirst ? sourceHot : targetHot;
+        HotAccountBalance second = sourceFirst ? targetHot : sourceHot;
+        if (first != null) {
+            locks.add(first.lockBorrowing());
+        }
+        if (second != null && second != first) {
+            locks.add(second.lockBorrowing());
+        }
+        return locks;
+    }
+
+    private long debitHeld(String accountId, HotAccountBalance hot, long amount) {
+        if (hot != null) {
+            hot.debit(amount);
+            return UNKNOWN;
+        }
+        return debitCold(stripe(accountId), accountId, amount);
+    }
+
+    private long creditHeld(String accountId, HotAccountBalance hot, long amount) {
+        if (hot != null) {
+            hot.credit(amount);
+            return UNKNOWN;
+        }
+        return creditCold(stripe(accountId), accountId, amount);
+    }
+
+    private long debitCold(int stripe, String accountId, long amount) {
+        LongBalanceTable table = tables[stripe];
+        long balance = table.get(accountId);
+        checkedDebit(accountId, balance - holds[stripe].get(accountId), amount);
+        table.put(accountId, balance - amount);
+        return balance - amount;
+    }
+
+    private long creditCold(int stripe, String accountId, long amount) {
+        LongBalanceTable table = tables[stripe];
+        long credited = checkedCredit(accountId, table.get(accountId), amount);
+        checkedCredit(accountId, credited, incoming[stripe].get(accountId));
+        table.put(accountId, credited);
+        return credited;
+    }
+
+    private void settleDebitCold(int stripe, String accountId, long amount) {
+        tables[stripe].put(accountId, tables[stripe].get(accountId) - amount);
+        holds[stripe].put(accountId, holds[stripe].get(accountId) - amount);
+    }
+
+    private void settleCreditCold(int stripe, String accountId, long amount) {
+        tables[stripe].put(accountId, tables[stripe].get(accountId) + amount);
+        incoming[stripe].put(accountId, incoming[stripe].get(accountId) - amount);
+    }
+
+    private void apply(String accountId, IntConsumer cold, Consumer<HotAccountBalance> hotUpdate) {
+        HotAccountBalance hot = hotAccounts.get(accountId);
+        if (hot == null) {
+            int stripe = stripe(accountId);
+            ReentrantLock lock = lock(stripe, accountId);
+            try {
+                hot = hotAccounts.get(accountId);
+                if (hot == null) {
+                    cold.accept(stripe);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        hotUpdate.accept(hot);
+    }
+
+    private ReentrantLock lock(int stripe, String accountId) {
+        ReentrantLock lock = stripes[stripe];
+        if (!lock.tryLock()) {
+            contention.merge(accountId, 1, Integer::sum);
+            lock.lock();
+        }
+        return lock;
+    }
+
+    private static long checkedDebit(String accountId, long current, long amount) {
+        if (current < amount) {
+            throw new InsufficientBalanceException("Insufficient balance for account " + accountId);
+        }
+        return current - amount;
+    }
+
+    private static long checkedCredit(String accountId, long current, long amount) {
+        long result = current + amount;
+        if (((current ^ result) & (amount ^ result)) < 0) {
+            throw new BalanceOverflowException(accountId);
+        }
+        return result;
+    }
+
+    private int stripe(String accountId) {
+        int hash = accountId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,153 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.InvalidAccountException;
+import com.dailybanking.transaction.model.BalanceCheckpoint;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.BalanceCheckpointRepository;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class BalanceHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceHistoryService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ReadYourWrites readYourWrites;
+    private final TransactionArchive archive;
+    private final boolean checkpointsEnabled;
+    private final Duration settleDelay;
+    private final int checkpointBatchSize;
+
+    public BalanceHistoryService(TransactionRepository transactionRepository,
+                                 BalanceCheckpointRepository checkpointRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ReadYourWrites readYourWrites,
+                                 TransactionArchive archive,
+                                 @Value("${app.balance-checkpoints.enabled:true}") boolean checkpointsEnabled,
+                                 @Value("${app.balance-checkpoints.settle-seconds:60}") long settleSeconds,
+                                 @Value("${app.balance-checkpoints.batch-size:500}") int checkpointBatchSize) {
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.readYourWrites = readYourWrites;
+        this.archive = archive;
+        this.checkpointsEnabled = checkpointsEnabled;
+        this.settleDelay = Duration.ofSeconds(settleSeconds);
+        this.checkpointBatchSize = checkpointBatchSize;
+    }
+
+    public BigDecimal balanceAsOf(String accountId, Instant asOf) {
+        if (accountId == null || accountId.isBlank()) {
+            throw new InvalidAccountException("Account id must not be blank");
+        }
+        return readYourWrites.read(accountId,
+                () -> readOnlyTemplate.execute(status -> computeBalance(accountId, asOf)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.balance-checkpoints.interval-ms:3600000}",
+            initialDelayString = "${app.balance-checkpoints.interval-ms:3600000}")
+    public void checkpointScheduled() {
+        if (checkpointsEnabled) {
+            checkpoint(Instant.now().minus(settleDelay));
+        }
+    }
+
+    public int checkpoint(Instant cutoff) {
+        return ReadRouting.onPrimary(() -> writeCheckpoints(cutoff));
+    }
+
+    private int writeCheckpoints(Instant cutoff) {
+        Instant previous = checkpointRepository.findLatestAsOf();
+        Instant from = previous == null ? Instant.EPOCH : previous;
+        if (!cutoff.isAfter(from)) {
+            return 0;
+        }
+        Set<String> accounts = new TreeSet<>(transactionRepository.findSourceAccountsActiveBetween(from, cutoff));
+        accounts.addAll(transactionRepository.findTargetAccountsActiveBetween(from, cutoff));
+
+        List<String> pending = new ArrayList<>(accounts);
+        for (int offset = 0; offset < pending.size(); offset += checkpointBatchSize) {
+            List<String> batch = pending.subList(offset, Math.min(pending.size(), offset + checkpointBatchSize));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<BalanceCheckpoint> checkpoints = new ArrayList<>(batch.size());
+                for (String accountId : batch) {
+                    BalanceCheckpoint checkpoint = new BalanceCheckpoint();
+                    checkpoint.setAccountId(accountId);
+                    checkpoint.setBalance(computeBalance(accountId, cutoff));
+                    checkpoint.setAsOf(cutoff);
+                    checkpoints.add(checkpoint);
+                }
+                checkpointRepository.saveAll(checkpoints);
+            });
+        }
+        if (!pending.isEmpty()) {
+            log.info("Wrote balance checkpoints for {} accounts as of {}", pending.size(), cutoff);
+        }
+        return pending.size();
+    }
+
+    private BigDecimal computeBalance(String accountId, Instant asOf) {
+        Optional<Transaction> debit = transactionRepository
+                .findFirstBySourceAccountIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(accountId, asOf);
+        Optional<Transaction> credit = transactionRepository
+                .findFirstByTargetAccountIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(accountId, asOf);
+
+        Transaction latest = newer(debit.orElse(null), credit.orElse(null));
+        Instant horizon = archive.newestArchived();
+        if (horizon != null && (latest == null || !latest.getCreatedAt().isAfter(horizon))) {
+            latest = newer(latest, archive.findLatest(accountId, asOf).orElse(null));
+        }
+        BigDecimal latestBalance = null;
+        if (latest != null) {
+            latestBalance = accountId.equals(latest.getTargetAccountId())
+                    ? latest.getTargetBalanceAfter()
+                    : latest.getSourceBalanceAfter();
+        }
+        if (latestBalance != null) {
+            return latestBalance.setScale(MinorUnits.SCALE, RoundingMode.UNNECESSARY);
+        }
+
+        Optional<BalanceCheckpoint> checkpoint =
+                checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, asOf);
+        Instant from = checkpoint.map(BalanceCheckpoint::getAsOf).orElse(Instant.EPOCH);
+        BigDecimal balance = checkpoint.map(BalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO)
+                .add(transactionRepository.sumSourceDeltas(accountId, from, asOf))
+                .add(transactionRepository.sumTargetDeltas(accountId, from, asOf));
+        return balance.setScale(MinorUnits.SCALE, RoundingMode.UNNECESSARY);
+    }
+
+    private static Transaction newer(Transaction left, Transaction right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null || isNewer(left, right) ? left : right;
+    }
+
+    private static boolean isNewer(Transaction left, Transaction right) {
+        int byTime = left.getCreatedAt().compareTo(right.getCreatedAt());
+        return byTime != 0 ? byTime > 0 : TimeOrderedIds.ORDER.compare(left.getId(), right.getId()) > 0;
+    }
+}
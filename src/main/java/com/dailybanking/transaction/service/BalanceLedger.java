@@ -0,0 +1,181 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.AccountSnapshot;
+import com.dailybanking.transaction.model.BalanceJournalEntry;
+import com.dailybanking.transaction.repository.AccountSnapshotRepository;
+import com.dailybanking.transaction.repository.BalanceJournalRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BalanceLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceLedger.class);
+
+    private final BalanceJournalRepository journalRepository;
+    private final AccountSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int replayBatchSize;
+    private final int compactionBatchSize;
+
+    private final AtomicLong recoveryMillis = new AtomicLong();
+    private final AtomicLong recoveredAccounts = new AtomicLong();
+    private final AtomicLong replayedEntries = new AtomicLong();
+
+    public BalanceLedger(BalanceJournalRepository journalRepository,
+                         AccountSnapshotRepository snapshotRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.ledger.replay-batch-size:5000}") int replayBatchSize,
+                         @Value("${app.ledger.compaction-batch-size:1000}") int compactionBatchSize) {
+        this.journalRepository = journalRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.replayBatchSize = replayBatchSize;
+        this.compactionBatchSize = compactionBatchSize;
+
+        Gauge.builder("ledger.recovery.duration", recoveryMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("ledger.recovery.accounts", recoveredAccounts, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("ledger.recovery.journal.entries", replayedEntries, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public void append(String accountId, BigDecimal delta) {
+        BalanceJournalEntry entry = new BalanceJournalEntry();
+        entry.setAccountId(accountId);
+        entry.setDelta(delta);
+        journalRepository.save(entry);
+    }
+
+    public Map<String, BigDecimal> recover() {
+        return ReadRouting.onPrimary(this::replay);
+    }
+
+    private Map<String, BigDecimal> replay() {
+        long started = System.nanoTime();
+        Map<String, BigDecimal> balances = new HashMap<>();
+
+        readOnlyTemplate.executeWithoutResult(status -> snapshotRepository.findAll()
+                .forEach(snapshot -> balances.put(snapshot.getAccountId(), snapshot.getBalance())));
+        int snapshotAccounts = balances.size();
+
+        long cursor = 0L;
+        long replayed = 0L;
+        while (true) {
+            long from = cursor;
+            List<BalanceJournalEntry> page = readOnlyTemplate.execute(status ->
+                    journalRepository.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, replayBatchSize)));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            for (BalanceJournalEntry entry : page) {
+                balances.merge(entry.getAccountId(), entry.getDelta(), BigDecimal::add);
+            }
+            cursor = page.get(page.size() - 1).getId();
+            replayed += page.size();
+            if (page.size() < replayBatchSize) {
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        recoveryMillis.set(elapsedNanos / 1_000_000);
+        recoveredAccounts.set(balances.size());
+        replayedEntries.set(replayed);
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+        log.info("Recovered {} accounts ({} from snapshots) and replayed {} journal entries in {} ms "
+                        + "({} accounts/s, {} entries/s)",
+                balances.size(), snapshotAccounts, replayed, elapsedNanos / 1_000_000,
+                Math.round(balances.size() / seconds), Math.round(replayed / seconds));
+        return balances;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.compaction-interval-ms:60000}",
+            initialDelayString = "${app.ledger.compaction-interval-ms:60000}")
+    public void compactScheduled() {
+        try {
+            int folded = compact();
+            if (folded > 0) {
+                log.info("Folded {} journal entries into account snapshots", folded);
+            }
+        } catch (IllegalStateException ex) {
+            log.warn("Journal compaction skipped: {}", ex.getMessage());
+        }
+    }
+
+    public int compact() {
+        int folded = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> compactBatch());
+            if (batch == null || batch == 0) {
+                return folded;
+            }
+            folded += batch;
+            if (batch < compactionBatchSize) {
+                return folded;
+            }
+        }
+    }
+
+    private int compactBatch() {
+        List<BalanceJournalEntry> entries =
+                journalRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, compactionBatchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (BalanceJournalEntry entry : entries) {
+            deltas.merge(entry.getAccountId(), entry.getDelta(), BigDecimal::add);
+            ids.add(entry.getId());
+        }
+
+        int deleted = journalRepository.deleteByIdIn(ids);
+        if (deleted != ids.size()) {
+            throw new IllegalStateException("journal entries were compacted concurrently");
+        }
+
+        Map<String, AccountSnapshot> snapshots = snapshotRepository.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(AccountSnapshot::getAccountId, Function.identity()));
+        Instant now = Instant.now();
+        List<AccountSnapshot> updated = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> {
+            AccountSnapshot snapshot = snapshots.get(accountId);
+            if (snapshot == null) {
+                snapshot = new AccountSnapshot();
+                snapshot.setAccountId(accountId);
+                snapshot.setBalance(BigDecimal.ZERO);
+            }
+            snapshot.setBalance(snapshot.getBalance().add(delta));
+            snapshot.setUpdatedAt(now);
+            updated.add(snapshot);
+        });
+        snapshotRepository.saveAll(updated);
+        return entries.size();
+    }
+}
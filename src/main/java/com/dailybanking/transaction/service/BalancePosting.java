@@ -0,0 +1,91 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.AccountEventSequenceRepository;
+import com.dailybanking.transaction.repository.AccountPosting;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class BalancePosting {
+
+    private final AccountEventSequenceRepository sequenceRepository;
+
+    public BalancePosting(AccountEventSequenceRepository sequenceRepository) {
+        this.sequenceRepository = sequenceRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            BigDecimal amount = transaction.getAmount();
+            switch (transaction.getType()) {
+                case DEPOSIT -> deltas.merge(transaction.getSourceAccountId(), amount, BigDecimal::add);
+                case WITHDRAWAL -> deltas.merge(transaction.getSourceAccountId(), amount.negate(), BigDecimal::add);
+                case TRANSFER -> {
+                    deltas.merge(transaction.getSourceAccountId(), amount.negate(), BigDecimal::add);
+                    deltas.merge(transaction.getTargetAccountId(), amount, BigDecimal::add);
+                }
+            }
+        }
+        deltas.forEach((accountId, delta) -> {
+            if (sequenceRepository.post(accountId, delta) == 0) {
+                sequenceRepository.insertIfAbsent(accountId);
+                sequenceRepository.post(accountId, delta);
+            }
+        });
+
+        Map<String, BigDecimal> running = new HashMap<>();
+        Instant lastPostedAt = Instant.EPOCH;
+        for (AccountPosting posting : sequenceRepository.findPostings(deltas.keySet())) {
+            running.put(posting.getAccountId(), posting.getBalance().subtract(deltas.get(posting.getAccountId())));
+            if (posting.getPostedAt() != null && posting.getPostedAt().isAfter(lastPostedAt)) {
+                lastPostedAt = posting.getPostedAt();
+            }
+        }
+
+        Instant postedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (!postedAt.isAfter(lastPostedAt)) {
+            postedAt = lastPostedAt.plus(1, ChronoUnit.MICROS);
+        }
+        for (Transaction transaction : transactions) {
+            transaction.setId(TimeOrderedIds.next());
+            transaction.setCreatedAt(postedAt);
+            transaction.setCompletedAt(postedAt);
+            post(running, transaction);
+            postedAt = postedAt.plus(1, ChronoUnit.MICROS);
+        }
+        sequenceRepository.stamp(deltas.keySet(), postedAt.minus(1, ChronoUnit.MICROS));
+    }
+
+    private static void post(Map<String, BigDecimal> running, Transaction transaction) {
+        String sourceAccountId = transaction.getSourceAccountId();
+        String targetAccountId = transaction.getTargetAccountId();
+        BigDecimal amount = transaction.getAmount();
+        switch (transaction.getType()) {
+            case DEPOSIT -> transaction.setSourceBalanceAfter(running.merge(sourceAccountId, amount, BigDecimal::add));
+            case WITHDRAWAL -> transaction.setSourceBalanceAfter(
+                    running.merge(sourceAccountId, amount.negate(), BigDecimal::add));
+            case TRANSFER -> {
+                BigDecimal debited = running.merge(sourceAccountId, amount.negate(), BigDecimal::add);
+                BigDecimal credited = running.merge(targetAccountId, amount, BigDecimal::add);
+                transaction.setSourceBalanceAfter(sourceAccountId.equals(targetAccountId) ? credited : debited);
+                transaction.setTargetBalanceAfter(credited);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+
+public class BinaryTransactionEventDeserializer implements Deserializer<TransactionEvent> {
+
+    private final ObjectReader jsonReader = Jackson2ObjectMapperBuilder.json().build()
+            .readerFor(TransactionEvent.class);
+
+    @Override
+    public TransactionEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (TransactionEventCodec.isBinary(data)) {
+                return TransactionEventCodec.decode(data);
+            }
+            return jsonReader.readValue(data);
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new SerializationException("Cannot decode transaction event from " + topic, ex);
+        }
+    }
+}
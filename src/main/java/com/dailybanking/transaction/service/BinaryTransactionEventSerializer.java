@@ -0,0 +1,12 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class BinaryTransactionEventSerializer implements Serializer<TransactionEvent> {
+
+    @Override
+    public byte[] serialize(String topic, TransactionEvent event) {
+        return event == null ? null : TransactionEventCodec.encode(event);
+    }
+}
@@ -0,0 +1,143 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.AggregateBackfillReport;
+import com.dailybanking.transaction.exception.InvalidDateRangeException;
+import com.dailybanking.transaction.model.DailyAccountAggregate;
+import com.dailybanking.transaction.repository.DailyAccountAggregateRepository;
+import com.dailybanking.transaction.repository.DailyTotals;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class DailyAggregateBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyAggregateBackfill.class);
+
+    private final TransactionRepository transactionRepository;
+    private final DailyAccountAggregateRepository aggregateRepository;
+    private final DailyAggregateService aggregateService;
+    private final EntityManager entityManager;
+    private final TransactionArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int maxDays;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DailyAggregateBackfill(TransactionRepository transactionRepository,
+                                  DailyAccountAggregateRepository aggregateRepository,
+                                  DailyAggregateService aggregateService,
+                                  EntityManager entityManager,
+                                  TransactionArchive archive,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.aggregates.backfill.parallelism:4}") int parallelism,
+                                  @Value("${app.aggregates.backfill.max-days:3660}") int maxDays) {
+        this.transactionRepository = transactionRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.aggregateService = aggregateService;
+        this.entityManager = entityManager;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+        this.maxDays = maxDays;
+    }
+
+    public AggregateBackfillReport backfill(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("Backfill range start must not be after its end");
+        }
+        if (!to.isBefore(aggregateService.today())) {
+            throw new InvalidDateRangeException("Backfill must end before " + aggregateService.today()
+                    + "; the current day is maintained by live writes");
+        }
+        Instant horizon = archive.newestArchived();
+        if (horizon != null && !from.isAfter(LocalDate.ofInstant(horizon, aggregateService.zone()))) {
+            throw new InvalidDateRangeException("Backfill must start after "
+                    + LocalDate.ofInstant(horizon, aggregateService.zone())
+                    + "; earlier transactions have been archived");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new InvalidDateRangeException("Backfill range must not exceed " + maxDays + " days");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An aggregate backfill is already running");
+        }
+        try {
+            return run(from, to);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AggregateBackfillReport run(LocalDate from, LocalDate to) {
+        long started = System.nanoTime();
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        long aggregates = 0;
+        try (ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, days.size()),
+                Thread.ofPlatform().name("aggregate-backfill-", 0).daemon(true).factory())) {
+            List<Future<Integer>> results = new ArrayList<>(days.size());
+            for (LocalDate day : days) {
+                results.add(workers.submit(() -> rebuild(day)));
+            }
+            for (Future<Integer> result : results) {
+                aggregates += result.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backfilling daily aggregates", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Daily aggregate backfill failed", ex.getCause());
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Backfilled {} daily aggregates for {} days ({} to {}) in {} ms",
+                aggregates, days.size(), from, to, elapsedMillis);
+        return new AggregateBackfillReport(from, to, days.size(), aggregates, elapsedMillis);
+    }
+
+    private int rebuild(LocalDate day) {
+        Instant from = day.atStartOfDay(aggregateService.zone()).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(aggregateService.zone()).toInstant();
+        Integer rows = transactionTemplate.execute(status -> {
+            aggregateRepository.deleteByBusinessDate(day);
+            List<DailyAccountAggregate> aggregates = new ArrayList<>();
+            for (DailyTotals totals : transactionRepository.totalBySourceAccountBetween(from, to)) {
+                aggregates.add(toAggregate(day, totals, DailyAggregateService.sourceEntryType(totals.getType())));
+            }
+            for (DailyTotals totals : transactionRepository.totalByTargetAccountBetween(from, to)) {
+                aggregates.add(toAggregate(day, totals, TransactionOutbox.CREDIT));
+            }
+            aggregates.forEach(entityManager::persist);
+            return aggregates.size();
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private static DailyAccountAggregate toAggregate(LocalDate day, DailyTotals totals, String entryType) {
+        DailyAccountAggregate aggregate = new DailyAccountAggregate();
+        aggregate.setAccountId(totals.getAccountId());
+        aggregate.setBusinessDate(day);
+        aggregate.setTransactionType(totals.getType());
+        aggregate.setEntryType(entryType);
+        aggregate.setTransactionCount(totals.getTransactionCount());
+        aggregate.setTotalAmount(totals.getTotalAmount());
+        aggregate.setMinAmount(totals.getMinAmount());
+        aggregate.setMaxAmount(totals.getMaxAmount());
+        return aggregate;
+    }
+}
@@ -0,0 +1,149 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.AccountSummaryResponse;
+import com.dailybanking.transaction.dto.DailyTotalsResponse;
+import com.dailybanking.transaction.exception.InvalidAccountException;
+import com.dailybanking.transaction.exception.InvalidDateRangeException;
+import com.dailybanking.transaction.model.DailyAccountAggregate;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.DailyAccountAggregateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class DailyAggregateService {
+
+    static final Comparator<DailyAccountAggregate.Key> KEY_ORDER = Comparator
+            .comparing(DailyAccountAggregate.Key::getAccountId)
+            .thenComparing(DailyAccountAggregate.Key::getBusinessDate)
+            .thenComparing(DailyAccountAggregate.Key::getTransactionType)
+            .thenComparing(DailyAccountAggregate.Key::getEntryType);
+
+    private final DailyAccountAggregateRepository aggregateRepository;
+    private final ReadYourWrites readYourWrites;
+    private final TransactionTemplate readOnlyTemplate;
+    private final boolean enabled;
+    private final ZoneId zone;
+    private final int maxSummaryDays;
+
+    public DailyAggregateService(DailyAccountAggregateRepository aggregateRepository,
+                                 ReadYourWrites readYourWrites,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.aggregates.enabled:true}") boolean enabled,
+                                 @Value("${app.aggregates.zone:UTC}") String zone,
+                                 @Value("${app.aggregates.max-summary-days:366}") int maxSummaryDays) {
+        this.aggregateRepository = aggregateRepository;
+        this.readYourWrites = readYourWrites;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.zone = ZoneId.of(zone);
+        this.maxSummaryDays = maxSummaryDays;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    public LocalDate businessDate(Instant instant) {
+        return LocalDate.ofInstant(instant, zone);
+    }
+
+    public void record(List<Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        Map<DailyAccountAggregate.Key, Totals> changes = new TreeMap<>(KEY_ORDER);
+        for (Transaction transaction : transactions) {
+            LocalDate date = businessDate(transaction.getCreatedAt());
+            changes.computeIfAbsent(new DailyAccountAggregate.Key(transaction.getSourceAccountId(), date,
+                            transaction.getType(), sourceEntryType(transaction.getType())), key -> new Totals())
+                    .add(transaction.getAmount());
+            if (transaction.getTargetAccountId() != null) {
+                changes.computeIfAbsent(new DailyAccountAggregate.Key(transaction.getTargetAccountId(), date,
+                                transaction.getType(), TransactionOutbox.CREDIT), key -> new Totals())
+                        .add(transaction.getAmount());
+            }
+        }
+        changes.forEach((key, totals) -> {
+            int inserted = aggregateRepository.insertIfAbsent(key.getAccountId(), key.getBusinessDate(),
+                    key.getTransactionType().name(), key.getEntryType(),
+                    totals.count, totals.total, totals.min, totals.max);
+            if (inserted == 0) {
+                aggregateRepository.accumulate(key.getAccountId(), key.getBusinessDate(), key.getTransactionType(),
+                        key.getEntryType(), totals.count, totals.total, totals.min, totals.max);
+            }
+        });
+    }
+
+    public AccountSummaryResponse summarize(String accountId, LocalDate from, LocalDate to) {
+        if (accountId == null || accountId.isBlank()) {
+            throw new InvalidAccountException("Account id must not be blank");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("Summary range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxSummaryDays) {
+            throw new InvalidDateRangeException("Summary range must not exceed " + maxSummaryDays + " days");
+        }
+        List<DailyAccountAggregate> rows = readYourWrites.read(accountId, () -> readOnlyTemplate.execute(status ->
+                aggregateRepository.findByAccountIdAndBusinessDateBetweenOrderByBusinessDateAscTransactionTypeAscEntryTypeAsc(
+                        accountId, from, to)));
+
+        List<DailyTotalsResponse> days = new ArrayList<>(rows.size());
+        Map<String, DailyTotalsResponse> totals = new TreeMap<>();
+        for (DailyAccountAggregate row : rows) {
+            days.add(new DailyTotalsResponse(row.getBusinessDate(), row.getTransactionType(), row.getEntryType(),
+                    row.getTransactionCount(), row.getTotalAmount(), row.getMinAmount(), row.getMaxAmount()));
+            DailyTotalsResponse total = totals.get(row.getTransactionType() + ":" + row.getEntryType());
+            if (total == null) {
+                totals.put(row.getTransactionType() + ":" + row.getEntryType(), new DailyTotalsResponse(null,
+                        row.getTransactionType(), row.getEntryType(), row.getTransactionCount(), row.getTotalAmount(),
+                        row.getMinAmount(), row.getMaxAmount()));
+            } else {
+                total.setCount(total.getCount() + row.getTransactionCount());
+                total.setTotal(total.getTotal().add(row.getTotalAmount()));
+                total.setMin(total.getMin().min(row.getMinAmount()));
+                total.setMax(total.getMax().max(row.getMaxAmount()));
+            }
+        }
+        return new AccountSummaryResponse(accountId, from, to, new ArrayList<>(totals.values()), days);
+    }
+
+    static String sourceEntryType(TransactionType type) {
+        return type == TransactionType.DEPOSIT ? TransactionOutbox.CREDIT : TransactionOutbox.DEBIT;
+    }
+
+    private static final class Totals {
+
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+
+        void add(BigDecimal amount) {
+            count++;
+            total = total.add(amount);
+            min = min == null ? amount : min.min(amount);
+            max = max == null ? amount : max.max(amount);
+        }
+    }
+}
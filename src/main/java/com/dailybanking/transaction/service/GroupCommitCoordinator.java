@@ -0,0 +1,214 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.exception.ConcurrencyLimitExceededException;
+import com.dailybanking.transaction.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class GroupCommitCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitCoordinator.class);
+
+    private final TransactionService transactionService;
+    private final TransactionMetrics metrics;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final int committers;
+    private final int queueCapacity;
+    private final long enqueueTimeoutNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final List<Thread> committerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final DistributionSummary groupSizes;
+    private final Timer groupCommits;
+    private final Counter groupFailures;
+    private final Counter queueRejections;
+
+    public GroupCommitCoordinator(TransactionService transactionService,
+                                  TransactionMetrics metrics,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${app.group-commit.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${app.group-commit.max-wait-micros:1000}") long maxWaitMicros,
+                                  @Value("${app.group-commit.committers:2}") int committers,
+                                  @Value("${app.group-commit.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.group-commit.enqueue-timeout-ms:50}") long enqueueTimeoutMs) {
+        this.transactionService = transactionService;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.committers = committers;
+        this.queueCapacity = queueCapacity;
+        this.enqueueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(enqueueTimeoutMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("transaction.group.queued", queue, BlockingQueue::size).register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("transaction.group.size").register(meterRegistry);
+        this.groupCommits = Timer.builder("transaction.group.commit")
+                .description("Time to apply, persist and commit one group of writes")
+                .register(meterRegistry);
+        this.groupFailures = Counter.builder("transaction.group.failed")
+                .description("Groups whose commit failed and were retried one write at a time")
+                .register(meterRegistry);
+        this.queueRejections = Counter.builder("transaction.admission.rejected")
+                .description("Requests shed before reaching the service")
+                .tag("operation", "write")
+                .tag("reason", "queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < committers; i++) {
+            committerThreads.add(Thread.ofPlatform()
+                    .name("group-commit-" + i)
+                    .daemon(true)
+                    .start(this::commitLoop));
+        }
+        log.info("Group commit enabled with {} committers, batches of up to {} writes, {} us window",
+                committers, maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : committerThreads) {
+            thread.interrupt();
+        }
+        for (Thread thread : committerThreads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        PendingWrite abandoned;
+        while ((abandoned = queue.poll()) != null) {
+            abandoned.reject(shuttingDown());
+            abandoned.release();
+        }
+    }
+
+    public TransactionResponse deposit(DepositRequest request) {
+        if (!enabled) {
+            return transactionService.deposit(request);
+        }
+        return submit(new PendingWrite(TransactionType.DEPOSIT, request.getIdempotencyKey(),
+                request.getAccountId(), null, request.getAmount(), request.getCurrency(), request.getDescription(),
+                () -> transactionService.deposit(request)));
+    }
+
+    public TransactionResponse withdraw(WithdrawalRequest request) {
+        if (!enabled) {
+            return transactionService.withdraw(request);
+        }
+        return submit(new PendingWrite(TransactionType.WITHDRAWAL, request.getIdempotencyKey(),
+                request.getAccountId(), null, request.getAmount(), request.getCurrency(), request.getDescription(),
+                () -> transactionService.withdraw(request)));
+    }
+
+    public TransactionResponse transfer(TransferRequest request) {
+        if (!enabled) {
+            return transactionService.transfer(request);
+        }
+        return submit(new PendingWrite(TransactionType.TRANSFER, request.getIdempotencyKey(),
+                request.getSourceAccountId(), request.getTargetAccountId(), request.getAmount(),
+                request.getCurrency(), request.getDescription(),
+                () -> transactionService.transfer(request)));
+    }
+
+    private TransactionResponse submit(PendingWrite write) {
+        if (!running) {
+            throw shuttingDown();
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(write, enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a write", ex);
+        }
+        if (!queued) {
+            queueRejections.increment();
+            throw new ConcurrencyLimitExceededException(
+                    "Group commit queue of " + queueCapacity + " writes is full, retry later");
+        }
+        if (!running && queue.remove(write)) {
+            throw shuttingDown();
+        }
+        return write.await();
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("Group commit is shutting down");
+    }
+
+    private void commitLoop() {
+        List<PendingWrite> group = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxBatchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException ex) {
+                if (group.isEmpty()) {
+                    return;
+                }
+            }
+            commit(group);
+            group.clear();
+        }
+    }
+
+    private void commit(List<PendingWrite> group) {
+        long started = System.nanoTime();
+        try {
+            transactionService.processGroup(group);
+            groupCommits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            groupSizes.record(group.size());
+            for (PendingWrite write : group) {
+                metrics.completed(write.getType(), write.getOutcome(), write.getEnqueuedNanos());
+                if (write.isRejected()) {
+                    metrics.rejected(write.getType(), write.getOutcome());
+                }
+                write.release();
+            }
+        } catch (RuntimeException ex) {
+            groupFailures.increment();
+            log.warn("Group commit of {} writes failed, retrying them one at a time: {}", group.size(), ex.getMessage());
+            for (PendingWrite write : group) {
+                write.writeDirectly();
+                write.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+public final class HistoryCursor {
+
+    private final Instant createdAt;
+    private final UUID id;
+
+    public HistoryCursor(Instant createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new InvalidCursorException(cursor);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new HistoryCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.BalanceOverflowException;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class HotAccountBalance {
+
+    private static final int PADDING = 16;
+
+    private final String accountId;
+    private final AtomicLongArray cells;
+    private final int cellCount;
+    private final ReentrantLock borrowLock = new ReentrantLock();
+    private final AtomicLong held;
+    private final AtomicLong incoming;
+    private volatile boolean deficit;
+
+    HotAccountBalance(String accountId, int cellCount, long initialBalance) {
+        this(accountId, cellCount, initialBalance, 0L, 0L);
+    }
+
+    HotAccountBalance(String accountId, int cellCount, long available, long held, long incoming) {
+        this.accountId = accountId;
+        this.cellCount = cellCount <= 1 ? 1 : Integer.highestOneBit(cellCount - 1) << 1;
+        this.cells = new AtomicLongArray(this.cellCount * PADDING);
+        this.cells.set(0, available);
+        this.held = new AtomicLong(held);
+        this.incoming = new AtomicLong(incoming);
+        this.deficit = available < 0;
+    }
+
+    int cellCount() {
+        return cellCount;
+    }
+
+    ReentrantLock lockBorrowing() {
+        borrowLock.lock();
+        return borrowLock;
+    }
+
+    long sum() {
+        long total = 0;
+        for (int i = 0; i < cellCount; i++) {
+            long cell = cells.get(i * PADDING);
+            long result = total + cell;
+            if (((total ^ result) & (cell ^ result)) < 0) {
+                throw new BalanceOverflowException(accountId);
+            }
+            total = result;
+        }
+        return total;
+    }
+
+    long balance() {
+        return sum() + held.get();
+    }
+
+    void reserveDebit(long amount) {
+        held.addAndGet(amount);
+        try {
+            debit(amount);
+        } catch (RuntimeException ex) {
+            held.addAndGet(-amount);
+            throw ex;
+        }
+    }
+
+    void releaseDebit(long amount) {
+        credit(amount);
+        held.addAndGet(-amount);
+    }
+
+    void settleDebit(long amount) {
+        held.addAndGet(-amount);
+    }
+
+    void reserveCredit(long amount) {
+        while (true) {
+            long reserved = incoming.get();
+            long balance = balance();
+            long headroom = balance + reserved;
+            if (((balance ^ headroom) & (reserved ^ headroom)) < 0) {
+                throw new BalanceOverflowException(accountId);
+            }
+            long result = headroom + amount;
+            if (((headroom ^ result) & (amount ^ result)) < 0) {
+                throw new BalanceOverflowException(accountId);
+            }
+            if (incoming.compareAndSet(reserved, reserved + amount)) {
+                return;
+            }
+        }
+    }
+
+    void releaseCredit(long amount) {
+        incoming.addAndGet(-amount);
+    }
+
+    void settleCredit(long amount) {
+        credit(amount);
+        incoming.addAndGet(-amount);
+    }
+
+    void adjust(long delta) {
+        if (delta >= 0) {
+            credit(delta);
+        } else {
+            borrow(-delta, true);
+        }
+    }
+
+    void credit(long amount) {
+        int index = randomCell();
+        while (true) {
+            long current = cells.get(index);
+            long result = current + amount;
+            if (((current ^ result) & (amount ^ result)) < 0) {
+                throw new BalanceOverflowException(accountId);
+            }
+            if (cells.compareAndSet(index, current, result)) {
+                return;
+            }
+        }
+    }
+
+    void debit(long amount) {
+        if (!deficit) {
+            int index = randomCell();
+            long current;
+            while ((current = cells.get(index)) >= amount) {
+                if (cells.compareAndSet(index, current, current - amount)) {
+                    return;
+                }
+            }
+        }
+        borrow(amount, false);
+    }
+
+    private void borrow(long amount, boolean force) {
+        borrowLock.lock();
+        try {
+            if (deficit) {
+                cells.getAndAdd(0, drain(1, Long.MAX_VALUE));
+                deficit = cells.get(0) < 0;
+            }
+            long collected = drain(0, amount);
+            if (collected < amount) {
+                if (!force) {
+                    cells.getAndAdd(0, collected);
+                    throw new InsufficientBalanceException("Insufficient balance for account " + accountId);
+                }
+                cells.getAndAdd(0, collected - amount);
+                deficit = true;
+            }
+        } finally {
+            borrowLock.unlock();
+        }
+    }
+
+    private long drain(int firstCell, long wanted) {
+        long collected = 0;
+        for (int i = firstCell; i < cellCount && collected < wanted; i++) {
+            int index = i * PADDING;
+            while (true) {
+                long current = cells.get(index);
+                if (current <= 0) {
+                    break;
+                }
+                long take = Math.min(current, wanted - collected);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    collected += take;
+                    break;
+                }
+            }
+        }
+        return collected;
+    }
+
+    private int randomCell() {
+        return ThreadLocalRandom.current().nextInt(cellCount) * PADDING;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dailybanking.transaction.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class HotAccountPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(HotAccountPromoter.class);
+
+    private final AccountService accountService;
+    private final boolean enabled;
+    private final int contentionThreshold;
+    private final Counter promotedCounter;
+
+    public HotAccountPromoter(AccountService accountService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.accounts.hot.enabled:true}") boolean enabled,
+                              @Value("${app.accounts.hot.contention-threshold:200}") int contentionThreshold,
+                              @Value("${app.accounts.hot.pinned:}") List<String> pinnedAccounts) {
+        this.accountService = accountService;
+        this.enabled = enabled;
+        this.contentionThreshold = contentionThreshold;
+        this.promotedCounter = Counter.builder("accounts.hot.promoted").register(meterRegistry);
+        Gauge.builder("accounts.hot", accountService, AccountService::hotAccountCount)
+                .description("Accounts whose balance is split across sub-balance cells")
+                .register(meterRegistry);
+
+        for (String accountId : pinnedAccounts) {
+            if (!accountId.isBlank() && accountService.promote(accountId.trim())) {
+                promotedCounter.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.accounts.hot.detection-interval-ms:1000}")
+    public void promoteContended() {
+        List<String> promoted = accountService.promoteContended(enabled ? contentionThreshold : Integer.MAX_VALUE);
+        for (String accountId : promoted) {
+            log.info("Account {} promoted to sharded sub-balances after contended updates", accountId);
+        }
+        promotedCounter.increment(promoted.size());
+    }
+}
@@ -0,0 +1,161 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.exception.DuplicateTransactionException;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+public class IdempotencyGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+    private final TransactionRepository transactionRepository;
+    private final Cache<String, TransactionResponse> recentResponses;
+    private final IdempotencyKeyFilter knownKeys;
+    private final boolean filterEnabled;
+    private final int warmupBatchSize;
+    private volatile boolean filterReady;
+
+    private final Counter databaseLookups;
+    private final Counter skippedLookups;
+
+    public IdempotencyGuard(TransactionRepository transactionRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.cache.max-size:100000}") long cacheMaxSize,
+                            @Value("${app.idempotency.cache.ttl-minutes:1440}") long cacheTtlMinutes,
+                            @Value("${app.idempotency.filter.enabled:true}") boolean filterEnabled,
+                            @Value("${app.idempotency.filter.expected-keys:10000000}") long expectedKeys,
+                            @Value("${app.idempotency.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${app.idempotency.filter.warmup-batch-size:10000}") int warmupBatchSize) {
+        this.transactionRepository = transactionRepository;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .recordStats()
+                .build();
+        this.knownKeys = new IdempotencyKeyFilter(expectedKeys, falsePositiveRate);
+        this.filterEnabled = filterEnabled;
+        this.warmupBatchSize = warmupBatchSize;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recentResponses, "idempotency");
+        this.databaseLookups = Counter.builder("idempotency.db.lookups").register(meterRegistry);
+        this.skippedLookups = Counter.builder("idempotency.db.lookups.skipped")
+                .description("Database lookups avoided because the key filter proved the key is new")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.filter.keys", knownKeys, IdempotencyKeyFilter::insertions)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadKnownKeys() {
+        if (!filterEnabled) {
+            return;
+        }
+        ReadRouting.onPrimary(this::loadFilter);
+    }
+
+    private void loadFilter() {
+        long started = System.nanoTime();
+        long loaded = 0;
+        String after = "";
+        while (true) {
+            List<String> keys =
+                    transactionRepository.findIdempotencyKeysAfter(after, PageRequest.of(0, warmupBatchSize));
+            keys.forEach(knownKeys::add);
+            loaded += keys.size();
+            if (keys.size() < warmupBatchSize) {
+                break;
+            }
+            after = keys.get(keys.size() - 1);
+        }
+        filterReady = true;
+        log.info("Loaded {} idempotency keys into the key filter ({} bytes) in {} ms",
+                loaded, knownKeys.sizeInBytes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public Optional<TransactionResponse> replay(String idempotencyKey,
+                                                TransactionType type,
+                                                String sourceAccountId,
+                                                String targetAccountId,
+                                                BigDecimal amount,
+                                                String currency) {
+        TransactionResponse previous = recentResponses.getIfPresent(idempotencyKey);
+        if (previous == null) {
+            if (!mightExist(idempotencyKey)) {
+                return Optional.empty();
+            }
+            databaseLookups.increment();
+            previous = transactionRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(TransactionService::toResponse)
+                    .orElse(null);
+            if (previous == null) {
+                return Optional.empty();
+            }
+            recentResponses.put(idempotencyKey, previous);
+        }
+        if (!matches(previous, type, sourceAccountId, targetAccountId, amount, currency)) {
+            throw new DuplicateTransactionException(idempotencyKey);
+        }
+        return Optional.of(previous);
+    }
+
+    public boolean mightExist(String idempotencyKey) {
+        if (filterReady && !knownKeys.mightContain(idempotencyKey)) {
+            skippedLookups.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void claim(String idempotencyKey) {
+        knownKeys.add(idempotencyKey);
+    }
+
+    public void remember(String idempotencyKey, TransactionResponse response) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentResponses.put(idempotencyKey, response);
+                }
+            });
+        } else {
+            recentResponses.put(idempotencyKey, response);
+        }
+    }
+
+    static boolean matches(TransactionResponse previous,
+                           TransactionType type,
+                           String sourceAccountId,
+                           String targetAccountId,
+                           BigDecimal amount,
+                           String currency) {
+        return previous.getType() == type
+                && Objects.equals(previous.getSourceAccountId(), sourceAccountId)
+                && Objects.equals(previous.getTargetAccountId(), targetAccountId)
+                && previous.getAmount() != null && previous.getAmount().compareTo(amount) == 0
+                && previous.getCurrency() != null && previous.getCurrency().equalsIgnoreCase(currency);
+    }
+}
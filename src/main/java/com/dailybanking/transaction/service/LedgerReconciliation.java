@@ -0,0 +1,283 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.BalanceMismatch;
+import com.dailybanking.transaction.dto.ReconciliationReport;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.LedgerRow;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class LedgerReconciliation {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReconciliation.class);
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+    private static final UUID HIGHEST_ID = new UUID(-1L, -1L);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final TransactionArchive archive;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int parallelism;
+    private final int chunks;
+    private final int pageSize;
+    private final int recheckAttempts;
+    private final long recheckDelayMillis;
+    private final int maxReported;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong lastMismatches = new AtomicLong();
+    private final AtomicLong lastRows = new AtomicLong();
+    private final AtomicLong lastDurationMillis = new AtomicLong();
+
+    public LedgerReconciliation(TransactionRepository transactionRepository,
+                                AccountService accountService,
+                                TransactionArchive archive,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.reconciliation.parallelism:4}") int parallelism,
+                                @Value("${app.reconciliation.chunks:256}") int chunks,
+                                @Value("${app.reconciliation.page-size:5000}") int pageSize,
+                                @Value("${app.reconciliation.recheck-attempts:3}") int recheckAttempts,
+                                @Value("${app.reconciliation.recheck-delay-ms:200}") long recheckDelayMillis,
+                                @Value("${app.reconciliation.max-reported:100}") int maxReported) {
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.archive = archive;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.parallelism = parallelism;
+        this.chunks = chunks;
+        this.pageSize = pageSize;
+        this.recheckAttempts = recheckAttempts;
+        this.recheckDelayMillis = recheckDelayMillis;
+        this.maxReported = maxReported;
+
+        Gauge.builder("ledger.reconciliation.mismatches", lastMismatches, AtomicLong::get)
+                .description("Accounts whose live balance disagreed with their transactions in the last run")
+                .register(meterRegistry);
+        Gauge.builder("ledger.reconciliation.rows", lastRows, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("ledger.reconciliation.duration", lastDurationMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A ledger reconciliation is already running");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport run() {
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        List<UUID> bounds = chunkBounds();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, LedgerReconciliation::newWorker, null, false);
+        try {
+            Fold fold = pool.invoke(new FoldTask(bounds, 0, bounds.size() - 1));
+            archive.forEachNetDelta(fold::add);
+
+            List<String> candidates = new ArrayList<>();
+            long[] accounts = new long[1];
+            accountService.forEachBalance((accountId, balance) -> {
+                accounts[0]++;
+                long[] expected = fold.balances.remove(accountId);
+                if ((expected == null ? 0L : expected[0]) != balance) {
+                    candidates.add(accountId);
+                }
+            });
+            fold.balances.forEach((accountId, expected) -> {
+                accounts[0]++;
+                if (expected[0] != 0L) {
+                    candidates.add(accountId);
+                }
+            });
+            fold.balances.clear();
+
+            List<BalanceMismatch> mismatches = pool.submit(() -> candidates.parallelStream()
+                    .map(this::recheck)
+                    .flatMap(Optional::stream)
+                    .sorted(Comparator.comparing(BalanceMismatch::getAccountId))
+                    .toList()).join();
+
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            lastMismatches.set(mismatches.size());
+            lastRows.set(fold.rows);
+            lastDurationMillis.set(elapsedMillis);
+            if (mismatches.isEmpty()) {
+                log.info("Reconciled {} transactions across {} accounts in {} chunks in {} ms, no mismatches",
+                        fold.rows, accounts[0], bounds.size() - 1, elapsedMillis);
+            } else {
+                log.warn("Reconciled {} transactions across {} accounts in {} chunks in {} ms, {} mismatches: {}",
+                        fold.rows, accounts[0], bounds.size() - 1, elapsedMillis, mismatches.size(),
+                        mismatches.stream().limit(maxReported).map(BalanceMismatch::getAccountId).toList());
+            }
+            return new ReconciliationReport(startedAt, bounds.size() - 1, fold.rows, accounts[0], mismatches.size(),
+                    mismatches.subList(0, Math.min(maxReported, mismatches.size())), elapsedMillis);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<UUID> chunkBounds() {
+        Optional<UUID> lowest = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                transactionRepository.findFirstByOrderByIdAsc().map(Transaction::getId)));
+        Optional<UUID> highest = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                transactionRepository.findFirstByOrderByIdDesc().map(Transaction::getId)));
+        List<UUID> bounds = new ArrayList<>();
+        bounds.add(LOWEST_ID);
+        if (lowest.isPresent() && highest.isPresent()) {
+            long low = lowest.get().getMostSignificantBits();
+            long span = highest.get().getMostSignificantBits() - low;
+            long step = Long.divideUnsigned(span, Math.max(chunks, 1));
+            for (int i = 1; step != 0 && i < chunks; i++) {
+                bounds.add(new UUID(low + step * i, -1L));
+            }
+        }
+        bounds.add(HIGHEST_ID);
+        return bounds;
+    }
+
+    private Fold fold(UUID after, UUID upTo) {
+        Fold fold = new Fold();
+        UUID cursor = after;
+        while (true) {
+            UUID from = cursor;
+            List<LedgerRow> page = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                    transactionRepository.findLedgerRows(from, upTo, PageRequest.of(0, pageSize))));
+            if (page == null || page.isEmpty()) {
+                return fold;
+            }
+            for (LedgerRow row : page) {
+                fold.apply(row);
+            }
+            cursor = page.get(page.size() - 1).getId();
+            if (page.size() < pageSize) {
+                return fold;
+            }
+        }
+    }
+
+    private Optional<BalanceMismatch> recheck(String accountId) {
+        BigDecimal ledger = BigDecimal.ZERO;
+        BigDecimal live = BigDecimal.ZERO;
+        for (int attempt = 0; attempt < recheckAttempts; attempt++) {
+            if (attempt > 0) {
+                pause();
+            }
+            live = accountService.getBalance(accountId);
+            Instant now = Instant.now();
+            BigDecimal archived = MinorUnits.toDecimal(archive.netDelta(accountId));
+            ledger = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                    transactionRepository.sumSourceDeltas(accountId, Instant.EPOCH, now)
+                            .add(transactionRepository.sumTargetDeltas(accountId, Instant.EPOCH, now))))
+                    .add(archived);
+            if (ledger.compareTo(live) == 0) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new BalanceMismatch(accountId, ledger, live, live.subtract(ledger)));
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(recheckDelayMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rechecking balances", ex);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("ledger-reconciliation-" + worker.getPoolIndex());
+        worker.setDaemon(true);
+        return worker;
+    }
+
+    private final class FoldTask extends RecursiveTask<Fold> {
+
+        private final List<UUID> bounds;
+        private final int from;
+        private final int to;
+
+        FoldTask(List<UUID> bounds, int from, int to) {
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Fold compute() {
+            if (to - from == 1) {
+                return fold(bounds.get(from), bounds.get(to));
+            }
+            int middle = (from + to) >>> 1;
+            FoldTask left = new FoldTask(bounds, from, middle);
+            left.fork();
+            Fold right = new FoldTask(bounds, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static final class Fold {
+
+        private final Map<String, long[]> balances = new HashMap<>();
+        private long rows;
+
+        void apply(LedgerRow row) {
+            long amount = MinorUnits.toMinor(row.getAmount());
+            switch (row.getType()) {
+                case DEPOSIT -> add(row.getSourceAccountId(), amount);
+                case WITHDRAWAL -> add(row.getSourceAccountId(), -amount);
+                case TRANSFER -> {
+                    add(row.getSourceAccountId(), -amount);
+                    add(row.getTargetAccountId(), amount);
+                }
+            }
+            rows++;
+        }
+
+        Fold merge(Fold other) {
+            Fold larger = balances.size() >= other.balances.size() ? this : other;
+            Fold smaller = larger == this ? other : this;
+            smaller.balances.forEach((accountId, balance) -> larger.add(accountId, balance[0]));
+            larger.rows += smaller.rows;
+            return larger;
+        }
+
+        private void add(String accountId, long amount) {
+            balances.computeIfAbsent(accountId, key -> new long[1])[0] += amount;
+        }
+    }
+}
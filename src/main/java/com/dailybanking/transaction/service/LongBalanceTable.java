@@ -0,0 +1,111 @@
+package com.dailybanking.transaction.service;
+
+import java.util.function.ObjLongConsumer;
+
+final class LongBalanceTable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] keys;
+    private long[] values;
+    private int size;
+    private int resizeAt;
+
+    LongBalanceTable(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(String key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0L;
+    }
+
+    void putIfAbsent(String key) {
+        if (find(key) < 0) {
+            insert(key, 0L);
+        }
+    }
+
+    void put(String key, long value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            insert(key, value);
+        }
+    }
+
+    void forEach(ObjLongConsumer<String> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int find(String key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (true) {
+            String candidate = keys[slot];
+            if (candidate == null) {
+                return -1;
+            }
+            if (candidate.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(String key, long value) {
+        if (size >= resizeAt) {
+            rehash();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            String key = oldKeys[i];
+            if (key != null) {
+                int slot = slot(key, mask);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new long[capacity];
+        resizeAt = capacity * 3 / 4;
+    }
+
+    private static int slot(String key, int mask) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
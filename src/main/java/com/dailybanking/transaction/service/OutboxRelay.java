@@ -0,0 +1,232 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.model.OutboxEvent;
+import com.dailybanking.transaction.repository.OutboxClaimLockRepository;
+import com.dailybanking.transaction.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String CLAIM_LOCK = "outbox-relay";
+
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxClaimLockRepository claimLockRepository;
+    private final KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String topicName;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long sendTimeoutNanos;
+    private final Duration claimTimeout;
+    private final Duration retention;
+    private final Semaphore inFlight;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizes;
+    private final Timer drainTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       OutboxClaimLockRepository claimLockRepository,
+                       KafkaTemplate<String, TransactionEvent> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.kafka.transaction-topic:banking.transaction.events}") String topicName,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.relay.max-in-flight:1000}") int maxInFlight,
+                       @Value("${app.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${app.outbox.relay.claim-timeout-ms:60000}") long claimTimeoutMs,
+                       @Value("${app.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxRepository = outboxRepository;
+        this.claimLockRepository = claimLockRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topicName = topicName;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.claimTimeout = Duration.ofMillis(Math.max(claimTimeoutMs, 2 * sendTimeoutMs));
+        this.retention = Duration.ofHours(retentionHours);
+        this.inFlight = new Semaphore(maxInFlight);
+
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.in.flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size").register(meterRegistry);
+        this.drainTimer = Timer.builder("outbox.relay.batch.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval-ms:200}")
+    public void relayScheduled() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeScheduled() {
+        if (enabled) {
+            Instant cutoff = Instant.now().minus(retention);
+            Integer purged = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} published outbox events older than {}", purged, cutoff);
+            }
+        }
+    }
+
+    public int drain() {
+        int total = 0;
+        while (true) {
+            List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            int published = relayBatch(batch);
+            total += published;
+            if (published < batchSize) {
+                break;
+            }
+        }
+        Instant oldest = ReadRouting.onPrimary(outboxRepository::findOldestPendingCreatedAt);
+        lagMillis.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, Instant.now()).toMillis()));
+        return total;
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        if (claimLockRepository.findForUpdate(CLAIM_LOCK).isEmpty()) {
+            claimLockRepository.insertIfAbsent(CLAIM_LOCK);
+            claimLockRepository.findForUpdate(CLAIM_LOCK);
+        }
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxRepository.findClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), now.plus(claimTimeout));
+        }
+        return batch;
+    }
+
+    private int relayBatch(List<OutboxEvent> batch) {
+        long started = System.nanoTime();
+        List<Long> publishedIds = publish(batch);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!publishedIds.isEmpty()) {
+                outboxRepository.markPublished(publishedIds, Instant.now());
+            }
+            if (publishedIds.size() < batch.size()) {
+                outboxRepository.release(batch.stream().map(OutboxEvent::getId).toList());
+            }
+        });
+        drainTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        publishedCounter.increment(publishedIds.size());
+        return publishedIds.size();
+    }
+
+    private List<Long> publish(List<OutboxEvent> batch) {
+        Map<String, ArrayDeque<OutboxEvent>> byKey = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byKey.computeIfAbsent(event.getMessageKey(), key -> new ArrayDeque<>()).add(event);
+        }
+
+        List<Long> published = new ArrayList<>(batch.size());
+        List<CompletableFuture<Long>> sends = new ArrayList<>(byKey.size());
+        long deadline = System.nanoTime() + sendTimeoutNanos;
+        while (!byKey.isEmpty() && deadline - System.nanoTime() > 0) {
+            sends.clear();
+            for (ArrayDeque<OutboxEvent> pending : byKey.values()) {
+                sends.add(send(pending.peek()));
+            }
+            Iterator<ArrayDeque<OutboxEvent>> keys = byKey.values().iterator();
+            for (CompletableFuture<Long> sent : sends) {
+                ArrayDeque<OutboxEvent> pending = keys.next();
+                try {
+                    published.add(sent.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                    pending.poll();
+                    if (pending.isEmpty()) {
+                        keys.remove();
+                    }
+                } catch (ExecutionException | TimeoutException ex) {
+                    keys.remove();
+                    failedCounter.increment();
+                    log.warn("Outbox event not published, holding back the rest of its key: {}", ex.getMessage());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return published;
+                }
+            }
+        }
+        return published;
+    }
+
+    private CompletableFuture<Long> send(OutboxEvent event) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+        try {
+            return kafkaTemplate.send(topicName, event.getMessageKey(), toEvent(event))
+                    .whenComplete((result, ex) -> inFlight.release())
+                    .thenApply(result -> event.getId());
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private TransactionEvent toEvent(OutboxEvent outboxEvent) {
+        TransactionEvent event = new TransactionEvent();
+        event.setEventId(outboxEvent.getEventId());
+        event.setEventType(outboxEvent.getEventType());
+        event.setTransactionId(outboxEvent.getTransactionId());
+        event.setAccountId(outboxEvent.getAccountId());
+        event.setEntryType(outboxEvent.getEntryType());
+        event.setAccountSequence(outboxEvent.getAccountSequence());
+        event.setBalanceAfter(outboxEvent.getBalanceAfter());
+        event.setSourceAccountId(outboxEvent.getSourceAccountId());
+        event.setTargetAccountId(outboxEvent.getTargetAccountId());
+        event.setAmount(outboxEvent.getAmount());
+        event.setCurrency(outboxEvent.getCurrency());
+        event.setOccurredAt(outboxEvent.getOccurredAt());
+        return event;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.exception.IntegrityViolations;
+import com.dailybanking.transaction.model.TransactionType;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public final class PendingWrite {
+
+    private final TransactionType type;
+    private final String idempotencyKey;
+    private final String sourceAccountId;
+    private final String targetAccountId;
+    private final BigDecimal amount;
+    private final String currency;
+    private final String description;
+    private final Supplier<TransactionResponse> directWrite;
+    private final long enqueuedNanos = System.nanoTime();
+    private final CompletableFuture<TransactionResponse> result = new CompletableFuture<>();
+
+    private TransactionResponse response;
+    private TransactionMetrics.Outcome outcome;
+    private RuntimeException failure;
+
+    public PendingWrite(TransactionType type,
+                        String idempotencyKey,
+                        String sourceAccountId,
+                        String targetAccountId,
+                        BigDecimal amount,
+                        String currency,
+                        String description,
+                        Supplier<TransactionResponse> directWrite) {
+        this.type = type;
+        this.idempotencyKey = idempotencyKey;
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+        this.directWrite = directWrite;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public String getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    TransactionMetrics.Outcome getOutcome() {
+        return failure == null ? outcome : TransactionMetrics.outcomeOf(failure);
+    }
+
+    boolean isRejected() {
+        return failure != null;
+    }
+
+    void accept(TransactionResponse response, TransactionMetrics.Outcome outcome) {
+        this.response = response;
+        this.outcome = outcome;
+        this.failure = null;
+    }
+
+    void reject(RuntimeException failure) {
+        this.response = null;
+        this.failure = failure;
+    }
+
+    void writeDirectly() {
+        try {
+            accept(directWrite.get(), TransactionMetrics.Outcome.COMPLETED);
+        } catch (DataIntegrityViolationException ex) {
+            if (!IntegrityViolations.isIdempotencyKeyConflict(ex)) {
+                reject(ex);
+                return;
+            }
+            try {
+                accept(directWrite.get(), TransactionMetrics.Outcome.COMPLETED);
+            } catch (RuntimeException retryFailure) {
+                reject(retryFailure);
+            }
+        } catch (RuntimeException ex) {
+            reject(ex);
+        }
+    }
+
+    void release() {
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(response);
+        }
+    }
+
+    TransactionResponse await() {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dailybanking.transaction.service;
+
+import java.util.function.Supplier;
+
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (isPrimaryRequired()) {
+            return work.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
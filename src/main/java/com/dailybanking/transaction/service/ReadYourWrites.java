@@ -0,0 +1,71 @@
+package com.dailybanking.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentlyWritten;
+    private final Counter stickyReads;
+
+    public ReadYourWrites(MeterRegistry meterRegistry,
+                          @Value("${app.replicas.enabled:false}") boolean enabled,
+                          @Value("${app.replicas.sticky-window-ms:5000}") long stickyWindowMillis,
+                          @Value("${app.replicas.sticky-max-accounts:1000000}") long maxAccounts) {
+        this.enabled = enabled;
+        this.recentlyWritten = Caffeine.newBuilder()
+                .maximumSize(maxAccounts)
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMillis))
+                .build();
+        this.stickyReads = Counter.builder("datasource.reads.sticky")
+                .description("Read-only queries sent to the primary because the account was written moments ago")
+                .register(meterRegistry);
+    }
+
+    public void recordAfterCommit(String... accountIds) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(accountIds);
+                }
+            });
+        } else {
+            record(accountIds);
+        }
+    }
+
+    public boolean isRecentlyWritten(String accountId) {
+        return enabled && accountId != null && recentlyWritten.getIfPresent(accountId) != null;
+    }
+
+    public <T> T read(String accountId, Supplier<T> work) {
+        if (!isRecentlyWritten(accountId)) {
+            return work.get();
+        }
+        stickyReads.increment();
+        return ReadRouting.onPrimary(work);
+    }
+
+    private void record(String... accountIds) {
+        for (String accountId : accountIds) {
+            if (accountId != null) {
+                recentlyWritten.put(accountId, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+final class RecentHistory {
+
+    static final Comparator<TransactionResponse> NEWEST_FIRST = Comparator
+            .comparing(TransactionResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(response -> UUID.fromString(response.getTransactionId()), TimeOrderedIds.ORDER.reversed());
+
+    private static final int OVERHEAD_BYTES = 96;
+
+    private final TransactionResponse[] entries;
+    private final Instant completeSince;
+    private boolean exhaustive;
+    private int head;
+    private int size;
+    private long version;
+    private int bytes;
+
+    RecentHistory(int capacity, Instant completeSince, boolean exhaustive, long version) {
+        this.entries = new TransactionResponse[capacity];
+        this.completeSince = completeSince;
+        this.exhaustive = exhaustive;
+        this.version = version;
+    }
+
+    static RecentHistory seeded(int capacity, List<TransactionResponse> newest, boolean exhaustive, long version) {
+        RecentHistory history = new RecentHistory(capacity, Instant.MIN, exhaustive && newest.size() <= capacity,
+                version);
+        for (int i = 0; i < Math.min(capacity, newest.size()); i++) {
+            history.set(i, newest.get(i));
+            history.bytes += estimateBytes(newest.get(i));
+        }
+        history.size = Math.min(capacity, newest.size());
+        return history;
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int weight() {
+        return OVERHEAD_BYTES + 4 * entries.length + bytes;
+    }
+
+    synchronized boolean insert(TransactionResponse response, long newVersion) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).getTransactionId().equals(response.getTransactionId())) {
+                return false;
+            }
+        }
+        version = newVersion;
+        int position = 0;
+        while (position < size && NEWEST_FIRST.compare(get(position), response) < 0) {
+            position++;
+        }
+        if (size == entries.length) {
+            exhaustive = false;
+            if (position == size) {
+                return false;
+            }
+            bytes -= estimateBytes(get(size - 1));
+            size--;
+        }
+        head = Math.floorMod(head - 1, entries.length);
+        for (int i = 0; i < position; i++) {
+            set(i, get(i + 1));
+        }
+        set(position, response);
+        size++;
+        bytes += estimateBytes(response);
+        return true;
+    }
+
+    synchronized TransactionPage firstPage(int limit) {
+        int complete = 0;
+        while (complete < size && !get(complete).getCreatedAt().isBefore(completeSince)) {
+            complete++;
+        }
+        if (complete > limit) {
+            TransactionResponse last = get(limit - 1);
+            return new TransactionPage(copy(limit),
+                    new HistoryCursor(last.getCreatedAt(), UUID.fromString(last.getTransactionId())).encode());
+        }
+        if (complete == size && exhaustive) {
+            return new TransactionPage(copy(size), null);
+        }
+        return null;
+    }
+
+    private List<TransactionResponse> copy(int count) {
+        List<TransactionResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(get(i));
+        }
+        return items;
+    }
+
+    private TransactionResponse get(int index) {
+        return entries[(head + index) % entries.length];
+    }
+
+    private void set(int index, TransactionResponse response) {
+        entries[(head + index) % entries.length] = response;
+    }
+
+    private static int estimateBytes(TransactionResponse response) {
+        return TransactionResponseCache.estimateBytes(response.getTransactionId(), response);
+    }
+}
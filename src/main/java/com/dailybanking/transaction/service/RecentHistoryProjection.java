@@ -0,0 +1,132 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RecentHistoryProjection {
+
+    private final boolean enabled;
+    private final int capacity;
+    private final Cache<String, RecentHistory> histories;
+    private final AtomicLong versions = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentHistoryProjection(MeterRegistry meterRegistry,
+                                   @Value("${app.history.recent.enabled:true}") boolean enabled,
+                                   @Value("${app.history.recent.capacity:64}") int capacity,
+                                   @Value("${app.history.recent.max-bytes:67108864}") long maxBytes) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.histories = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String accountId, RecentHistory history) -> history.weight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, histories, "recent-history");
+        Gauge.builder("transaction.history.recent.footprint", histories, RecentHistoryProjection::weightedSize)
+                .baseUnit("bytes")
+                .description("Estimated heap retained by per-account recent history buffers")
+                .register(meterRegistry);
+        this.hits = Counter.builder("transaction.history.recent.pages")
+                .tag("result", "hit")
+                .description("First history pages answered from the recent history projection")
+                .register(meterRegistry);
+        this.misses = Counter.builder("transaction.history.recent.pages")
+                .tag("result", "miss")
+                .description("First history pages that had to be read from the database")
+                .register(meterRegistry);
+    }
+
+    public boolean covers(int pageSize) {
+        return enabled && pageSize < capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public TransactionPage firstPage(String accountId, int pageSize) {
+        RecentHistory history = histories.getIfPresent(accountId);
+        TransactionPage page = history == null ? null : history.firstPage(pageSize);
+        if (page == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    public long version(String accountId) {
+        RecentHistory history = histories.getIfPresent(accountId);
+        return history == null ? 0L : history.version();
+    }
+
+    public void seed(String accountId, long expectedVersion, List<TransactionResponse> newest, boolean exhaustive) {
+        if (!enabled) {
+            return;
+        }
+        histories.asMap().compute(accountId, (key, current) -> {
+            long currentVersion = current == null ? 0L : current.version();
+            if (currentVersion != expectedVersion) {
+                return current;
+            }
+            return RecentHistory.seeded(capacity, newest, exhaustive, versions.incrementAndGet());
+        });
+    }
+
+    public void recordAfterCommit(TransactionResponse response) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(response);
+                }
+            });
+        } else {
+            record(response);
+        }
+    }
+
+    void record(TransactionResponse response) {
+        record(response.getSourceAccountId(), response);
+        if (response.getTargetAccountId() != null) {
+            record(response.getTargetAccountId(), response);
+        }
+    }
+
+    private void record(String accountId, TransactionResponse response) {
+        histories.asMap().compute(accountId, (key, current) -> {
+            RecentHistory history = current != null
+                    ? current
+                    : new RecentHistory(capacity, Instant.now(), false, versions.incrementAndGet());
+            history.insert(response, versions.incrementAndGet());
+            return history;
+        });
+    }
+
+    private static double weightedSize(Cache<String, RecentHistory> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+}
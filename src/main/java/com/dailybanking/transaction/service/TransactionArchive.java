@@ -0,0 +1,198 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+@Component
+public class TransactionArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchive.class);
+
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId, TimeOrderedIds.ORDER.reversed());
+
+    private static final Comparator<ArchiveSegment> NEWEST_SEGMENT_FIRST =
+            Comparator.comparing(ArchiveSegment::maxCreatedAt, Comparator.reverseOrder());
+
+    private final Path directory;
+    private final int blockRows;
+    private final Timer idLookups;
+    private final Timer historyLookups;
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public TransactionArchive(MeterRegistry meterRegistry,
+                              @Value("${app.archive.directory:data/archive}") String directory,
+                              @Value("${app.archive.block-rows:1024}") int blockRows) {
+        this.directory = Path.of(directory);
+        this.blockRows = blockRows;
+
+        Gauge.builder("transaction.archive.segments", this, archive -> archive.segments.size())
+                .register(meterRegistry);
+        Gauge.builder("transaction.archive.rows", this,
+                        archive -> archive.segments.stream().mapToLong(ArchiveSegment::rows).sum())
+                .register(meterRegistry);
+        Gauge.builder("transaction.archive.size", this,
+                        archive -> archive.segments.stream().mapToLong(ArchiveSegment::sizeBytes).sum())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.idLookups = Timer.builder("transaction.archive.lookup")
+                .tag("query", "id")
+                .register(meterRegistry);
+        this.historyLookups = Timer.builder("transaction.archive.lookup")
+                .tag("query", "history")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(ArchiveSegment.SUFFIX)).toList()) {
+                loaded.add(ArchiveSegment.open(file));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open transaction archive in " + directory, ex);
+        }
+        loaded.sort(NEWEST_SEGMENT_FIRST);
+        segments = List.copyOf(loaded);
+        log.info("Opened {} archive segments with {} transactions from {}", loaded.size(),
+                loaded.stream().mapToLong(ArchiveSegment::rows).sum(), directory);
+    }
+
+    public Instant newestArchived() {
+        List<ArchiveSegment> current = segments;
+        return current.isEmpty() ? null : current.get(0).maxCreatedAt();
+    }
+
+    public boolean contains(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    public Optional<Transaction> findById(UUID id) {
+        List<ArchiveSegment> current = segments;
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        return idLookups.record(() -> {
+            for (ArchiveSegment segment : current) {
+                Optional<Transaction> found = segment.find(id);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+            return Optional.<Transaction>empty();
+        });
+    }
+
+    public List<Transaction> findByAccount(String accountId, Instant beforeCreatedAt, UUID beforeId, int limit) {
+        List<ArchiveSegment> current = segments;
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        return historyLookups.record(() -> scan(current, accountId, beforeCreatedAt, beforeId, limit));
+    }
+
+    public Optional<Transaction> findLatest(String accountId, Instant asOf) {
+        return findByAccount(accountId, asOf, new UUID(-1L, -1L), 1).stream().findFirst();
+    }
+
+    public long netDelta(String accountId) {
+        long delta = 0L;
+        for (ArchiveSegment segment : segments) {
+            int code = segment.accountCode(accountId);
+            if (code >= 0) {
+                delta += segment.netDelta(code);
+            }
+        }
+        return delta;
+    }
+
+    public void forEachNetDelta(ObjLongConsumer<String> consumer) {
+        for (ArchiveSegment segment : segments) {
+            segment.forEachNetDelta(consumer);
+        }
+    }
+
+    synchronized void append(List<Transaction> transactions) throws IOException {
+        Files.createDirectories(directory);
+        ArchiveSegment segment = ArchiveSegment.write(directory, transactions, blockRows);
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        updated.sort(NEWEST_SEGMENT_FIRST);
+        segments = List.copyOf(updated);
+    }
+
+    private static List<Transaction> scan(List<ArchiveSegment> current,
+                                          String accountId,
+                                          Instant beforeCreatedAt,
+                                          UUID beforeId,
+                                          int limit) {
+        PriorityQueue<Transaction> newest = new PriorityQueue<>(limit + 1, NEWEST_FIRST.reversed());
+        for (ArchiveSegment segment : current) {
+            if (newest.size() == limit && segment.maxCreatedAt().isBefore(newest.peek().getCreatedAt())) {
+                break;
+            }
+            if (beforeCreatedAt != null && segment.minCreatedAt().isAfter(beforeCreatedAt)) {
+                continue;
+            }
+            int code = segment.accountCode(accountId);
+            if (code < 0) {
+                continue;
+            }
+            for (int block = segment.blocks() - 1; block >= 0; block--) {
+                if (newest.size() == limit && segment.blockMaxCreatedAt(block).isBefore(newest.peek().getCreatedAt())) {
+                    continue;
+                }
+                if (beforeCreatedAt != null && segment.blockMinCreatedAt(block).isAfter(beforeCreatedAt)) {
+                    continue;
+                }
+                ArchiveSegment.Block rows = segment.block(block);
+                for (int row = 0; row < rows.rows(); row++) {
+                    if (rows.touches(row, code) && isBefore(rows, row, beforeCreatedAt, beforeId)) {
+                        newest.add(rows.transaction(row));
+                        if (newest.size() > limit) {
+                            newest.poll();
+                        }
+                    }
+                }
+            }
+        }
+        List<Transaction> page = new ArrayList<>(newest);
+        page.sort(NEWEST_FIRST);
+        return page;
+    }
+
+    private static boolean isBefore(ArchiveSegment.Block rows, int row, Instant beforeCreatedAt, UUID beforeId) {
+        if (beforeCreatedAt == null) {
+            return true;
+        }
+        int byTime = rows.createdAt(row).compareTo(beforeCreatedAt);
+        return byTime < 0 || (byTime == 0 && TimeOrderedIds.ORDER.compare(rows.id(row), beforeId) < 0);
+    }
+}
@@ -0,0 +1,124 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.ArchiveReport;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int segmentRows;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TransactionArchiver(TransactionRepository transactionRepository,
+                               TransactionArchive archive,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.archive.enabled:false}") boolean enabled,
+                               @Value("${app.archive.max-age-days:365}") long maxAgeDays,
+                               @Value("${app.archive.segment-rows:50000}") int segmentRows) {
+        this.transactionRepository = transactionRepository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.segmentRows = segmentRows;
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}",
+            initialDelayString = "${app.archive.interval-ms:3600000}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    public ArchiveReport archive() {
+        return archive(Instant.now().minus(maxAge));
+    }
+
+    public ArchiveReport archive(Instant cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A transaction archive run is already in progress");
+        }
+        try {
+            return run(cutoff);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ArchiveReport run(Instant cutoff) {
+        long started = System.nanoTime();
+        UUID after = new UUID(0L, 0L);
+        int segments = 0;
+        long archived = 0;
+        while (true) {
+            UUID from = after;
+            List<Transaction> page = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                    transactionRepository.findArchivable(from, cutoff, PageRequest.of(0, segmentRows))));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            List<Transaction> fresh = new ArrayList<>(page.size());
+            for (Transaction transaction : page) {
+                if (!archive.contains(transaction.getId())) {
+                    fresh.add(transaction);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                try {
+                    archive.append(fresh);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Could not write archive segment", ex);
+                }
+                segments++;
+            }
+            List<UUID> ids = page.stream().map(Transaction::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int offset = 0; offset < ids.size(); offset += DELETE_BATCH_SIZE) {
+                    transactionRepository.deleteByIdIn(ids.subList(offset, Math.min(ids.size(), offset + DELETE_BATCH_SIZE)));
+                }
+            });
+            archived += page.size();
+            after = page.get(page.size() - 1).getId();
+            if (page.size() < segmentRows) {
+                break;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        if (archived > 0) {
+            log.info("Archived {} transactions created before {} into {} segments in {} ms",
+                    archived, cutoff, segments, elapsedMillis);
+        }
+        return new ArchiveReport(cutoff, segments, archived, elapsedMillis);
+    }
+}
@@ -0,0 +1,302 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+public final class TransactionEventCodec {
+
+    public static final byte MAGIC = (byte) 0xB7;
+    public static final byte VERSION = 1;
+
+    private static final int STRING_NULL = 0;
+    private static final int STRING_UUID = 1;
+    private static final int STRING_OFFSET = 2;
+
+    private static final int DECIMAL_NULL = 0;
+    private static final int DECIMAL_COMPACT = 1;
+    private static final int DECIMAL_BIG = 2;
+
+    private static final int ENTRY_NONE = 0;
+    private static final int ENTRY_DEBIT = 1;
+    private static final int ENTRY_CREDIT = 2;
+
+    private TransactionEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(TransactionEvent event) {
+        Writer writer = new Writer(128);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeString(event.getEventId());
+        writer.writeString(event.getEventType());
+        writer.writeString(event.getTransactionId());
+        writer.writeString(event.getAccountId());
+        writer.writeByte(entryCode(event.getEntryType()));
+        writer.writeVarLong(event.getAccountSequence());
+        writer.writeDecimal(event.getBalanceAfter());
+        writer.writeString(event.getSourceAccountId());
+        writer.writeString(event.getTargetAccountId());
+        writer.writeDecimal(event.getAmount());
+        writer.writeString(event.getCurrency());
+        writer.writeInstant(event.getOccurredAt());
+        return writer.toByteArray();
+    }
+
+    public static TransactionEvent decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary transaction event");
+        }
+        if (data[1] != VERSION) {
+            throw new IllegalArgumentException("Unsupported transaction event version " + data[1]);
+        }
+        Reader reader = new Reader(data, 2);
+        try {
+            TransactionEvent event = new TransactionEvent();
+            event.setEventId(reader.readString());
+            event.setEventType(reader.readString());
+            event.setTransactionId(reader.readString());
+            event.setAccountId(reader.readString());
+            event.setEntryType(entryType(reader.readByte()));
+            event.setAccountSequence(reader.readVarLong());
+            event.setBalanceAfter(reader.readDecimal());
+            event.setSourceAccountId(reader.readString());
+            event.setTargetAccountId(reader.readString());
+            event.setAmount(reader.readDecimal());
+            event.setCurrency(reader.readString());
+            event.setOccurredAt(reader.readInstant());
+            return event;
+        } catch (IndexOutOfBoundsException | ArithmeticException | DateTimeException ex) {
+            throw new IllegalArgumentException("Malformed transaction event", ex);
+        }
+    }
+
+    private static int entryCode(String entryType) {
+        if (entryType == null) {
+            return ENTRY_NONE;
+        }
+        return switch (entryType) {
+            case TransactionOutbox.DEBIT -> ENTRY_DEBIT;
+            case TransactionOutbox.CREDIT -> ENTRY_CREDIT;
+            default -> throw new IllegalArgumentException("Unknown entry type " + entryType);
+        };
+    }
+
+    private static String entryType(int code) {
+        return switch (code) {
+            case ENTRY_NONE -> null;
+            case ENTRY_DEBIT -> TransactionOutbox.DEBIT;
+            case ENTRY_CREDIT -> TransactionOutbox.CREDIT;
+            default -> throw new IllegalArgumentException("Unknown entry type code " + code);
+        };
+    }
+
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(STRING_NULL);
+            } else if (isCanonicalUuid(value)) {
+                UUID uuid = UUID.fromString(value);
+                writeVarLong(STRING_UUID);
+                writeLong(uuid.getMostSignificantBits());
+                writeLong(uuid.getLeastSignificantBits());
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + STRING_OFFSET);
+                writeBytes(bytes);
+            }
+        }
+
+        void writeDecimal(BigDecimal value) {
+            if (value == null) {
+                writeVarLong(DECIMAL_NULL);
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                writeVarLong(DECIMAL_COMPACT);
+                writeZigZag(value.scale());
+                writeZigZag(unscaled.longValue());
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                writeVarLong(DECIMAL_BIG);
+                writeZigZag(value.scale());
+                writeVarLong(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        void writeInstant(Instant value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeZigZag(value.getEpochSecond());
+            writeVarLong(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in transaction event");
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        byte[] readBytes(int length) {
+            if (length < 0 || position + length > data.length) {
+                throw new IllegalArgumentException("Truncated transaction event");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() {
+            long header = readVarLong();
+            if (header == STRING_NULL) {
+                return null;
+            }
+            if (header == STRING_UUID) {
+                return new UUID(readLong(), readLong()).toString();
+            }
+            int length = Math.toIntExact(header - STRING_OFFSET);
+            if (position + length > data.length) {
+                throw new IllegalArgumentException("Truncated transaction event");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            long kind = readVarLong();
+            if (kind == DECIMAL_NULL) {
+                return null;
+            }
+            int scale = Math.toIntExact(readZigZag());
+            if (kind == DECIMAL_COMPACT) {
+                return BigDecimal.valueOf(readZigZag(), scale);
+            }
+            if (kind == DECIMAL_BIG) {
+                return new BigDecimal(new BigInteger(readBytes(Math.toIntExact(readVarLong()))), scale);
+            }
+            throw new IllegalArgumentException("Unknown decimal encoding " + kind);
+        }
+
+        Instant readInstant() {
+            if (readByte() == 0) {
+                return null;
+            }
+            return Instant.ofEpochSecond(readZigZag(), readVarLong());
+        }
+    }
+}
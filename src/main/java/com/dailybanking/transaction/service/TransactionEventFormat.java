@@ -0,0 +1,36 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionEventFormat implements DefaultKafkaProducerFactoryCustomizer {
+
+    public static final String JSON = "json";
+    public static final String BINARY = "binary";
+
+    private final String format;
+
+    public TransactionEventFormat(@Value("${app.kafka.event-format:json}") String format) {
+        if (!JSON.equalsIgnoreCase(format) && !BINARY.equalsIgnoreCase(format)) {
+            throw new IllegalStateException("app.kafka.event-format must be json or binary, was " + format);
+        }
+        this.format = format.toLowerCase();
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void customize(DefaultKafkaProducerFactory<?, ?> producerFactory) {
+        if (BINARY.equals(format)) {
+            ((DefaultKafkaProducerFactory<String, TransactionEvent>) producerFactory)
+                    .setValueSerializer(new BinaryTransactionEventSerializer());
+        }
+    }
+}
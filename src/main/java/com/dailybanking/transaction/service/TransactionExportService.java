@@ -0,0 +1,124 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.ExportFormat;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.exception.InvalidExportRequestException;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "transactionId,type,status,sourceAccountId,targetAccountId,"
+            + "amount,currency,description,createdAt,completedAt\n";
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ReadYourWrites readYourWrites;
+    private final ObjectWriter jsonWriter;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    ReadYourWrites readYourWrites) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(TransactionResponse.class);
+        this.readYourWrites = readYourWrites;
+    }
+
+    public void validate(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidExportRequestException("Export range start must be before its end");
+        }
+    }
+
+    public long export(String accountId, Instant from, Instant to, ExportFormat format, OutputStream output) {
+        validate(from, to);
+        Long exported = readYourWrites.read(accountId, () -> readOnlyTemplate.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<Transaction> rows = accountId == null || accountId.isBlank()
+                    ? transactionRepository.streamByCreatedAtBetween(from, to)
+                    : transactionRepository.streamByAccountAndCreatedAtBetween(accountId, from, to)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                long count = 0;
+                for (Transaction transaction : (Iterable<Transaction>) rows::iterator) {
+                    TransactionResponse response = TransactionService.toResponse(transaction);
+                    entityManager.detach(transaction);
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, response);
+                    } else {
+                        writer.write(jsonWriter.writeValueAsString(response));
+                        writer.write('\n');
+                    }
+                    count++;
+                }
+                writer.flush();
+                return count;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }));
+        return exported == null ? 0L : exported;
+    }
+
+    private static void writeCsv(Writer writer, TransactionResponse response) throws IOException {
+        writer.write(response.getTransactionId());
+        writer.write(',');
+        writer.write(response.getType().name());
+        writer.write(',');
+        writer.write(response.getStatus().name());
+        writer.write(',');
+        writeCsvField(writer, response.getSourceAccountId());
+        writer.write(',');
+        writeCsvField(writer, response.getTargetAccountId());
+        writer.write(',');
+        writer.write(response.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(response.getCurrency());
+        writer.write(',');
+        writeCsvField(writer, response.getDescription());
+        writer.write(',');
+        writer.write(response.getCreatedAt().toString());
+        writer.write(',');
+        if (response.getCompletedAt() != null) {
+            writer.write(response.getCompletedAt().toString());
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,146 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.BalanceOverflowException;
+import com.dailybanking.transaction.exception.DuplicateTransactionException;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.exception.IntegrityViolations;
+import com.dailybanking.transaction.exception.InvalidAccountException;
+import com.dailybanking.transaction.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TransactionMetrics {
+
+    public enum Stage {
+        IDEMPOTENCY, BALANCE, PERSIST, OUTBOX, COMMIT
+    }
+
+    public enum Outcome {
+        COMPLETED, REPLAYED, DUPLICATE, INSUFFICIENT_BALANCE, INVALID_ACCOUNT, BALANCE_OVERFLOW, CONFLICT, ERROR;
+
+        boolean isRejection() {
+            return this == DUPLICATE || this == INSUFFICIENT_BALANCE
+                    || this == INVALID_ACCOUNT || this == BALANCE_OVERFLOW;
+        }
+    }
+
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+
+    private final Timer[][][] stageTimers;
+    private final Timer[][] processTimers;
+    private final Counter[][] rejections;
+
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        TransactionType[] types = TransactionType.values();
+        Stage[] stages = Stage.values();
+        Outcome[] outcomes = Outcome.values();
+        this.stageTimers = new Timer[types.length][stages.length][2];
+        this.processTimers = new Timer[types.length][outcomes.length];
+        this.rejections = new Counter[types.length][outcomes.length];
+
+        for (TransactionType type : types) {
+            String operation = type.name().toLowerCase();
+            for (Stage stage : stages) {
+                for (int result = SUCCESS; result <= FAILURE; result++) {
+                    stageTimers[type.ordinal()][stage.ordinal()][result] = Timer.builder("transaction.stage")
+                            .description("Time spent in one stage of the write pipeline")
+                            .tag("operation", operation)
+                            .tag("stage", stage.name().toLowerCase())
+                            .tag("outcome", result == SUCCESS ? "success" : "failure")
+                            .register(meterRegistry);
+                }
+            }
+            for (Outcome outcome : outcomes) {
+                processTimers[type.ordinal()][outcome.ordinal()] = Timer.builder("transaction.process")
+                        .description("End-to-end time of a write request up to the commit")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry);
+                if (outcome.isRejection()) {
+                    rejections[type.ordinal()][outcome.ordinal()] = Counter.builder("transaction.rejected")
+                            .tag("operation", operation)
+                            .tag("reason", outcome.name().toLowerCase())
+                            .register(meterRegistry);
+                }
+            }
+        }
+    }
+
+    public long stageCompleted(TransactionType type, Stage stage, long stageStartedNanos) {
+        long now = System.nanoTime();
+        stageTimers[type.ordinal()][stage.ordinal()][SUCCESS].record(now - stageStartedNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void completed(TransactionType type, Outcome outcome, long startedNanos) {
+        processTimers[type.ordinal()][outcome.ordinal()]
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void failed(TransactionType type, Stage stage, long stageStartedNanos, long startedNanos,
+                       RuntimeException failure) {
+        long now = System.nanoTime();
+        stageTimers[type.ordinal()][stage.ordinal()][FAILURE].record(now - stageStartedNanos, TimeUnit.NANOSECONDS);
+        Outcome outcome = outcomeOf(failure);
+        processTimers[type.ordinal()][outcome.ordinal()].record(now - startedNanos, TimeUnit.NANOSECONDS);
+        rejected(type, outcome);
+    }
+
+    public void rejected(TransactionType type, Outcome reason) {
+        Counter counter = rejections[type.ordinal()][reason.ordinal()];
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public void timeCommit(TransactionType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStarted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStarted = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commitStarted != 0) {
+                    stageTimers[type.ordinal()][Stage.COMMIT.ordinal()][status == STATUS_COMMITTED ? SUCCESS : FAILURE]
+                            .record(System.nanoTime() - commitStarted, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    static Outcome outcomeOf(RuntimeException failure) {
+        if (failure instanceof InsufficientBalanceException) {
+            return Outcome.INSUFFICIENT_BALANCE;
+        }
+        if (failure instanceof DuplicateTransactionException) {
+            return Outcome.DUPLICATE;
+        }
+        if (failure instanceof InvalidAccountException) {
+            return Outcome.INVALID_ACCOUNT;
+        }
+        if (failure instanceof BalanceOverflowException) {
+            return Outcome.BALANCE_OVERFLOW;
+        }
+        if (failure instanceof DataIntegrityViolationException conflict
+                && IntegrityViolations.isIdempotencyKeyConflict(conflict)) {
+            return Outcome.CONFLICT;
+        }
+        return Outcome.ERROR;
+    }
+}
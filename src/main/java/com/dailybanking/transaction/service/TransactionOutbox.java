@@ -0,0 +1,137 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.OutboxEvent;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.repository.AccountEventSequenceRepository;
+import com.dailybanking.transaction.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+public class TransactionOutbox {
+
+    public static final String DEBIT = "DEBIT";
+    public static final String CREDIT = "CREDIT";
+
+    private final OutboxEventRepository outboxRepository;
+    private final AccountEventSequenceRepository sequenceRepository;
+
+    public TransactionOutbox(OutboxEventRepository outboxRepository,
+                             AccountEventSequenceRepository sequenceRepository) {
+        this.outboxRepository = outboxRepository;
+        this.sequenceRepository = sequenceRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Transaction transaction, String eventType) {
+        PendingEvents pending = pendingEvents();
+        Instant occurredAt = Instant.now();
+        switch (transaction.getType()) {
+            case DEPOSIT -> pending.add(entry(transaction, eventType, occurredAt,
+                    transaction.getSourceAccountId(), CREDIT, transaction.getSourceBalanceAfter()));
+            case WITHDRAWAL -> pending.add(entry(transaction, eventType, occurredAt,
+                    transaction.getSourceAccountId(), DEBIT, transaction.getSourceBalanceAfter()));
+            case TRANSFER -> {
+                pending.add(entry(transaction, eventType, occurredAt,
+                        transaction.getSourceAccountId(), DEBIT, transaction.getSourceBalanceAfter()));
+                pending.add(entry(transaction, eventType, occurredAt,
+                        transaction.getTargetAccountId(), CREDIT, transaction.getTargetBalanceAfter()));
+            }
+        }
+    }
+
+    private PendingEvents pendingEvents() {
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private void write(List<OutboxEvent> events) {
+        Map<String, List<OutboxEvent>> byAccount = new TreeMap<>();
+        for (OutboxEvent event : events) {
+            byAccount.computeIfAbsent(event.getAccountId(), accountId -> new ArrayList<>(2)).add(event);
+        }
+        for (Map.Entry<String, List<OutboxEvent>> account : byAccount.entrySet()) {
+            List<OutboxEvent> accountEvents = account.getValue();
+            long sequence = reserve(account.getKey(), accountEvents.size()) - accountEvents.size();
+            for (OutboxEvent event : accountEvents) {
+                event.setAccountSequence(++sequence);
+            }
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    private long reserve(String accountId, int count) {
+        if (sequenceRepository.advance(accountId, count) == 0) {
+            sequenceRepository.insertIfAbsent(accountId);
+            sequenceRepository.advance(accountId, count);
+        }
+        return sequenceRepository.findLastSequence(accountId);
+    }
+
+    private static OutboxEvent entry(Transaction transaction,
+                                     String eventType,
+                                     Instant occurredAt,
+                                     String accountId,
+                                     String entryType,
+                                     BigDecimal balanceAfter) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType(eventType);
+        event.setMessageKey(accountId);
+        event.setTransactionId(transaction.getId().toString());
+        event.setAccountId(accountId);
+        event.setEntryType(entryType);
+        event.setBalanceAfter(balanceAfter);
+        event.setSourceAccountId(transaction.getSourceAccountId());
+        event.setTargetAccountId(transaction.getTargetAccountId());
+        event.setAmount(transaction.getAmount());
+        event.setCurrency(transaction.getCurrency());
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        void add(OutboxEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TransactionOutbox.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransactionOutbox.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionOutbox.this);
+        }
+    }
+}
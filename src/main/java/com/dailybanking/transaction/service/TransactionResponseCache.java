@@ -0,0 +1,81 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+@Component
+public class TransactionResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 320;
+
+    private final Cache<String, TransactionResponse> completed;
+
+    public TransactionResponseCache(MeterRegistry meterRegistry,
+                                    @Value("${app.transaction-cache.max-bytes:67108864}") long maxBytes,
+                                    @Value("${app.transaction-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.completed = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(TransactionResponseCache::estimateBytes)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "transactions");
+        Gauge.builder("transaction.cache.footprint", completed, TransactionResponseCache::weightedSize)
+                .baseUnit("bytes")
+                .description("Estimated heap retained by cached transaction responses")
+                .register(meterRegistry);
+    }
+
+    public TransactionResponse get(String transactionId) {
+        return completed.getIfPresent(transactionId);
+    }
+
+    public void put(TransactionResponse response) {
+        if (response.getStatus() == TransactionStatus.COMPLETED) {
+            completed.put(response.getTransactionId(), response);
+        }
+    }
+
+    public void putAfterCommit(TransactionResponse response) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(response);
+                }
+            });
+        } else {
+            put(response);
+        }
+    }
+
+    private static double weightedSize(Cache<String, TransactionResponse> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    static int estimateBytes(String transactionId, TransactionResponse response) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (length(transactionId)
+                + length(response.getSourceAccountId())
+                + length(response.getTargetAccountId())
+                + length(response.getCurrency())
+                + length(response.getDescription()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
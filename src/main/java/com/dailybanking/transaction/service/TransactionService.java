@@ -1,106 +1,422 @@
 package com.dailybanking.transaction.service;
 
+import com.dailybanking.transaction.dto.BatchItemResult;
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.BatchTransactionResponse;
 import com.dailybanking.transaction.dto.DepositRequest;
-import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionPage;
 import com.dailybanking.transaction.dto.TransactionResponse;
 import com.dailybanking.transaction.dto.TransferRequest;
 import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.exception.BalanceOverflowException;
 import com.dailybanking.transaction.exception.DuplicateTransactionException;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.exception.InvalidAccountException;
 import com.dailybanking.transaction.exception.TransactionNotFoundException;
+import com.dailybanking.transaction.model.TimeOrderedIds;
 import com.dailybanking.transaction.model.Transaction;
 import com.dailybanking.transaction.model.TransactionStatus;
 import com.dailybanking.transaction.model.TransactionType;
 import com.dailybanking.transaction.repository.TransactionRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class TransactionService {
 
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId, TimeOrderedIds.ORDER.reversed());
+
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
-    private final KafkaTemplate<String, TransactionEvent> kafkaTemplate;
-    private final String topicName;
+    private final BalancePosting balancePosting;
+    private final TransactionOutbox transactionOutbox;
+    private final IdempotencyGuard idempotencyGuard;
+    private final TransactionResponseCache responseCache;
+    private final TransactionMetrics metrics;
+    private final ReadYourWrites readYourWrites;
+    private final DailyAggregateService dailyAggregates;
+    private final RecentHistoryProjection recentHistory;
+    private final TransactionArchive archive;
+    private final TransactionTemplate readOnlyTemplate;
 
     public TransactionService(TransactionRepository transactionRepository,
                               AccountService accountService,
-                              KafkaTemplate<String, TransactionEvent> kafkaTemplate,
-                              @Value("${app.kafka.transaction-topic:banking.transaction.events}") String topicName) {
+                              BalancePosting balancePosting,
+                              TransactionOutbox transactionOutbox,
+                              IdempotencyGuard idempotencyGuard,
+                              TransactionResponseCache responseCache,
+                              TransactionMetrics metrics,
+                              ReadYourWrites readYourWrites,
+                              DailyAggregateService dailyAggregates,
+                              RecentHistoryProjection recentHistory,
+                              TransactionArchive archive,
+                              PlatformTransactionManager transactionManager) {
         this.transactionRepository = transactionRepository;
         this.accountService = accountService;
-        this.kafkaTemplate = kafkaTemplate;
-        this.topicName = topicName;
+        this.balancePosting = balancePosting;
+        this.transactionOutbox = transactionOutbox;
+        this.idempotencyGuard = idempotencyGuard;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
+        this.readYourWrites = readYourWrites;
+        this.dailyAggregates = dailyAggregates;
+        this.recentHistory = recentHistory;
+        this.archive = archive;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
     }
 
     @Transactional
     public TransactionResponse deposit(DepositRequest request) {
-        String idempotencyKey = normalizeIdempotency(request.getIdempotencyKey());
-        ensureIdempotency(idempotencyKey);
-
-        accountService.deposit(request.getAccountId(), request.getAmount());
-        Transaction saved = saveTransaction(idempotencyKey, TransactionType.DEPOSIT, request.getAccountId(), null,
+        return process(request.getIdempotencyKey(), TransactionType.DEPOSIT, request.getAccountId(), null,
                 request.getAmount(), request.getCurrency(), request.getDescription());
-        publishEvent(saved, "transaction.completed");
-        return toResponse(saved);
     }
 
     @Transactional
     public TransactionResponse withdraw(WithdrawalRequest request) {
-        String idempotencyKey = normalizeIdempotency(request.getIdempotencyKey());
-        ensureIdempotency(idempotencyKey);
-
-        accountService.withdraw(request.getAccountId(), request.getAmount());
-        Transaction saved = saveTransaction(idempotencyKey, TransactionType.WITHDRAWAL, request.getAccountId(), null,
+        return process(request.getIdempotencyKey(), TransactionType.WITHDRAWAL, request.getAccountId(), null,
                 request.getAmount(), request.getCurrency(), request.getDescription());
-        publishEvent(saved, "transaction.completed");
-        return toResponse(saved);
     }
 
     @Transactional
     public TransactionResponse transfer(TransferRequest request) {
-        String idempotencyKey = normalizeIdempotency(request.getIdempotencyKey());
-        ensureIdempotency(idempotencyKey);
-
-        accountService.withdraw(request.getSourceAccountId(), request.getAmount());
-        accountService.deposit(request.getTargetAccountId(), request.getAmount());
-
-        Transaction saved = saveTransaction(idempotencyKey, TransactionType.TRANSFER,
+        return process(request.getIdempotencyKey(), TransactionType.TRANSFER,
                 request.getSourceAccountId(), request.getTargetAccountId(),
                 request.getAmount(), request.getCurrency(), request.getDescription());
-        publishEvent(saved, "transaction.completed");
-        return toResponse(saved);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
+    public BatchTransactionResponse submitBatch(BatchTransactionRequest request) {
+        List<BatchTransactionItem> items = request.getItems();
+        List<String> idempotencyKeys = items.stream()
+                .map(item -> normalizeIdempotency(item.getIdempotencyKey()))
+                .toList();
+        List<String> candidateKeys = idempotencyKeys.stream()
+                .filter(idempotencyGuard::mightExist)
+                .toList();
+        Set<String> existingKeys = candidateKeys.isEmpty()
+                ? Set.of()
+                : transactionRepository.findExistingIdempotencyKeys(candidateKeys);
+        Map<String, Integer> batchKeys = new HashMap<>();
+        List<Integer> repeats = new ArrayList<>();
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Transaction> accepted = new ArrayList<>(items.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransactionItem item = items.get(i);
+            String idempotencyKey = idempotencyKeys.get(i);
+            String targetAccountId = item.getType() == TransactionType.TRANSFER ? item.getTargetAccountId() : null;
+            if (existingKeys.contains(idempotencyKey)) {
+                results[i] = replayBatchItem(i, item, idempotencyKey, targetAccountId);
+                continue;
+            }
+            if (batchKeys.containsKey(idempotencyKey)) {
+                repeats.add(i);
+                continue;
+            }
+            idempotencyGuard.claim(idempotencyKey);
+            try {
+                applyBalanceChange(item.getType(), item.getAccountId(), targetAccountId, item.getAmount());
+            } catch (InsufficientBalanceException ex) {
+                metrics.rejected(item.getType(), TransactionMetrics.Outcome.INSUFFICIENT_BALANCE);
+                results[i] = BatchItemResult.rejected(i, "INSUFFICIENT_BALANCE", ex.getMessage());
+                continue;
+            } catch (InvalidAccountException ex) {
+                metrics.rejected(item.getType(), TransactionMetrics.Outcome.INVALID_ACCOUNT);
+                results[i] = BatchItemResult.rejected(i, "INVALID_ACCOUNT", ex.getMessage());
+                continue;
+            } catch (BalanceOverflowException ex) {
+                metrics.rejected(item.getType(), TransactionMetrics.Outcome.BALANCE_OVERFLOW);
+                results[i] = BatchItemResult.rejected(i, "BALANCE_OVERFLOW", ex.getMessage());
+                continue;
+            }
+            batchKeys.put(idempotencyKey, i);
+            accepted.add(newTransaction(idempotencyKey, item.getType(), item.getAccountId(), targetAccountId,
+                    item.getAmount(), item.getCurrency(), item.getDescription()));
+            acceptedIndexes.add(i);
+        }
+
+        balancePosting.post(accepted);
+        List<Transaction> saved = transactionRepository.saveAll(accepted);
+        dailyAggregates.record(saved);
+        for (int i = 0; i < saved.size(); i++) {
+            Transaction transaction = saved.get(i);
+            publishEvent(transaction, "transaction.completed");
+            int index = acceptedIndexes.get(i);
+            TransactionResponse response = toResponse(transaction);
+            idempotencyGuard.remember(transaction.getIdempotencyKey(), response);
+            responseCache.putAfterCommit(response);
+            recentHistory.recordAfterCommit(response);
+            results[index] = BatchItemResult.completed(index, response);
+        }
+        for (int index : repeats) {
+            BatchTransactionItem item = items.get(index);
+            String idempotencyKey = idempotencyKeys.get(index);
+            TransactionResponse original = results[batchKeys.get(idempotencyKey)].getTransaction();
+            String targetAccountId = item.getType() == TransactionType.TRANSFER ? item.getTargetAccountId() : null;
+            if (IdempotencyGuard.matches(original, item.getType(), item.getAccountId(), targetAccountId,
+                    item.getAmount(), item.getCurrency())) {
+                results[index] = BatchItemResult.completed(index, original);
+            } else {
+                metrics.rejected(item.getType(), TransactionMetrics.Outcome.DUPLICATE);
+                results[index] = BatchItemResult.rejected(index, "DUPLICATE_TRANSACTION",
+                        new DuplicateTransactionException(idempotencyKey).getMessage());
+            }
+        }
+        return new BatchTransactionResponse(Arrays.asList(results));
+    }
+
+    private BatchItemResult replayBatchItem(int index,
+                                            BatchTransactionItem item,
+                                            String idempotencyKey,
+                                            String targetAccountId) {
+        try {
+            Optional<TransactionResponse> previous = idempotencyGuard.replay(idempotencyKey, item.getType(),
+                    item.getAccountId(), targetAccountId, item.getAmount(), item.getCurrency());
+            if (previous.isPresent()) {
+                return BatchItemResult.completed(index, previous.get());
+            }
+        } catch (DuplicateTransactionException ex) {
+            metrics.rejected(item.getType(), TransactionMetrics.Outcome.DUPLICATE);
+            return BatchItemResult.rejected(index, "DUPLICATE_TRANSACTION", ex.getMessage());
+        }
+        metrics.rejected(item.getType(), TransactionMetrics.Outcome.DUPLICATE);
+        return BatchItemResult.rejected(index, "DUPLICATE_TRANSACTION",
+                new DuplicateTransactionException(idempotencyKey).getMessage());
+    }
+
+    @Transactional
+    public void processGroup(List<PendingWrite> group) {
+        Map<String, Integer> groupKeys = new HashMap<>();
+        List<PendingWrite> repeats = new ArrayList<>();
+        List<Transaction> accepted = new ArrayList<>(group.size());
+        List<PendingWrite> acceptedWrites = new ArrayList<>(group.size());
+        for (PendingWrite write : group) {
+            String idempotencyKey = normalizeIdempotency(write.getIdempotencyKey());
+            if (groupKeys.containsKey(idempotencyKey)) {
+                repeats.add(write);
+                continue;
+            }
+            try {
+                Optional<TransactionResponse> previous = idempotencyGuard.replay(idempotencyKey, write.getType(),
+                        write.getSourceAccountId(), write.getTargetAccountId(), write.getAmount(), write.getCurrency());
+                if (previous.isPresent()) {
+                    write.accept(previous.get(), TransactionMetrics.Outcome.REPLAYED);
+                    continue;
+                }
+                idempotencyGuard.claim(idempotencyKey);
+                applyBalanceChange(write.getType(), write.getSourceAccountId(),
+                        write.getTargetAccountId(), write.getAmount());
+                groupKeys.put(idempotencyKey, accepted.size());
+                accepted.add(newTransaction(idempotencyKey, write.getType(), write.getSourceAccountId(),
+                        write.getTargetAccountId(), write.getAmount(), write.getCurrency(), write.getDescription()));
+                acceptedWrites.add(write);
+            } catch (DuplicateTransactionException | InsufficientBalanceException
+                     | InvalidAccountException | BalanceOverflowException ex) {
+                write.reject(ex);
+            }
+        }
+
+        balancePosting.post(accepted);
+        List<Transaction> saved = transactionRepository.saveAll(accepted);
+        dailyAggregates.record(saved);
+        List<TransactionResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Transaction transaction = saved.get(i);
+            publishEvent(transaction, "transaction.completed");
+            TransactionResponse response = toResponse(transaction);
+            idempotencyGuard.remember(transaction.getIdempotencyKey(), response);
+            responseCache.putAfterCommit(response);
+            recentHistory.recordAfterCommit(response);
+            responses.add(response);
+            acceptedWrites.get(i).accept(response, TransactionMetrics.Outcome.COMPLETED);
+        }
+        for (PendingWrite write : repeats) {
+            String idempotencyKey = normalizeIdempotency(write.getIdempotencyKey());
+            TransactionResponse original = responses.get(groupKeys.get(idempotencyKey));
+            if (IdempotencyGuard.matches(original, write.getType(), write.getSourceAccountId(),
+                    write.getTargetAccountId(), write.getAmount(), write.getCurrency())) {
+                write.accept(original, TransactionMetrics.Outcome.REPLAYED);
+            } else {
+                write.reject(new DuplicateTransactionException(idempotencyKey));
+            }
+        }
+    }
+
     public TransactionResponse getById(String transactionId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        TransactionResponse cached = responseCache.get(transactionId);
+        if (cached != null) {
+            return cached;
+        }
+        Transaction transaction = parseId(transactionId)
+                .flatMap(id -> readOnlyTemplate.execute(status -> transactionRepository.findById(id))
+                        .or(() -> archive.findById(id)))
                 .orElseThrow(() -> new TransactionNotFoundException(transactionId));
-        return toResponse(transaction);
+        TransactionResponse response = toResponse(transaction);
+        responseCache.put(response);
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<TransactionResponse> findByAccount(String accountId) {
-        return transactionRepository
-                .findBySourceAccountIdOrTargetAccountIdOrderByCreatedAtDesc(accountId, accountId)
-                .stream()
-                .map(this::toResponse)
+    public TransactionPage findByAccount(String accountId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), TransactionPage.MAX_PAGE_SIZE);
+        if ((cursor == null || cursor.isBlank()) && recentHistory.covers(pageSize)) {
+            TransactionPage recent = recentHistory.firstPage(accountId, pageSize);
+            if (recent != null) {
+                return recent;
+            }
+            long version = recentHistory.version(accountId);
+            int fetchSize = recentHistory.capacity();
+            List<TransactionResponse> newest = ReadRouting.onPrimary(() -> readOnlyTemplate.execute(status ->
+                    loadNewest(accountId, null, fetchSize)));
+            recentHistory.seed(accountId, version, newest, newest.size() < fetchSize);
+            return toPage(newest, pageSize);
+        }
+        return readYourWrites.read(accountId, () -> readOnlyTemplate.execute(status ->
+                toPage(loadNewest(accountId, cursor, pageSize + 1), pageSize)));
+    }
+
+    private List<TransactionResponse> loadNewest(String accountId, String cursor, int fetchSize) {
+        Pageable fetch = PageRequest.of(0, fetchSize);
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+        List<Transaction> debits;
+        List<Transaction> credits;
+        if (after == null) {
+            debits = transactionRepository.findBySourceAccountIdOrderByCreatedAtDescIdDesc(accountId, fetch);
+            credits = transactionRepository.findByTargetAccountIdOrderByCreatedAtDescIdDesc(accountId, fetch);
+        } else {
+            debits = transactionRepository.findSourcePageBefore(accountId, after.getCreatedAt(), after.getId(), fetch);
+            credits = transactionRepository.findTargetPageBefore(accountId, after.getCreatedAt(), after.getId(), fetch);
+        }
+        List<Transaction> newest = mergeNewestFirst(debits, credits, fetchSize);
+        Instant horizon = archive.newestArchived();
+        if (horizon != null && (newest.size() < fetchSize
+                || !newest.get(newest.size() - 1).getCreatedAt().isAfter(horizon))) {
+            List<Transaction> archived = after == null
+                    ? archive.findByAccount(accountId, null, null, fetchSize)
+                    : archive.findByAccount(accountId, after.getCreatedAt(), after.getId(), fetchSize);
+            newest = mergeNewestFirst(newest, archived, fetchSize);
+        }
+        return newest.stream()
+                .map(TransactionService::toResponse)
                 .toList();
     }
 
-    private Transaction saveTransaction(String idempotencyKey,
+    private static TransactionPage toPage(List<TransactionResponse> newest, int pageSize) {
+        if (newest.size() <= pageSize) {
+            return new TransactionPage(newest, null);
+        }
+        TransactionResponse last = newest.get(pageSize - 1);
+        return new TransactionPage(newest.subList(0, pageSize),
+                new HistoryCursor(last.getCreatedAt(), UUID.fromString(last.getTransactionId())).encode());
+    }
+
+    private static List<Transaction> mergeNewestFirst(List<Transaction> left, List<Transaction> right, int limit) {
+        List<Transaction> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            Transaction next;
+            if (j >= right.size() || (i < left.size() && NEWEST_FIRST.compare(left.get(i), right.get(j)) <= 0)) {
+                next = left.get(i++);
+            } else {
+                next = right.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    private TransactionResponse process(String requestedIdempotencyKey,
                                         TransactionType type,
                                         String sourceAccountId,
                                         String targetAccountId,
                                         BigDecimal amount,
                                         String currency,
                                         String description) {
+        String idempotencyKey = normalizeIdempotency(requestedIdempotencyKey);
+        long started = System.nanoTime();
+        long stageStarted = started;
+        TransactionMetrics.Stage stage = TransactionMetrics.Stage.IDEMPOTENCY;
+        try {
+            Optional<TransactionResponse> previous = idempotencyGuard.replay(idempotencyKey, type,
+                    sourceAccountId, targetAccountId, amount, currency);
+            if (previous.isPresent()) {
+                metrics.stageCompleted(type, stage, stageStarted);
+                metrics.completed(type, TransactionMetrics.Outcome.REPLAYED, started);
+                return previous.get();
+            }
+            idempotencyGuard.claim(idempotencyKey);
+            stageStarted = metrics.stageCompleted(type, stage, stageStarted);
+
+            stage = TransactionMetrics.Stage.BALANCE;
+            applyBalanceChange(type, sourceAccountId, targetAccountId, amount);
+            stageStarted = metrics.stageCompleted(type, stage, stageStarted);
+
+            stage = TransactionMetrics.Stage.PERSIST;
+            Transaction transaction = newTransaction(idempotencyKey, type, sourceAccountId, targetAccountId,
+                    amount, currency, description);
+            balancePosting.post(List.of(transaction));
+            Transaction saved = transactionRepository.save(transaction);
+            dailyAggregates.record(List.of(saved));
+            stageStarted = metrics.stageCompleted(type, stage, stageStarted);
+
+            stage = TransactionMetrics.Stage.OUTBOX;
+            publishEvent(saved, "transaction.completed");
+            metrics.stageCompleted(type, stage, stageStarted);
+
+            TransactionResponse response = toResponse(saved);
+            idempotencyGuard.remember(idempotencyKey, response);
+            responseCache.putAfterCommit(response);
+            recentHistory.recordAfterCommit(response);
+            metrics.timeCommit(type);
+            metrics.completed(type, TransactionMetrics.Outcome.COMPLETED, started);
+            return response;
+        } catch (RuntimeException ex) {
+            metrics.failed(type, stage, stageStarted, started, ex);
+            throw ex;
+        }
+    }
+
+    private void applyBalanceChange(TransactionType type,
+                                    String accountId,
+                                    String targetAccountId,
+                                    BigDecimal amount) {
+        switch (type) {
+            case DEPOSIT -> accountService.deposit(accountId, amount);
+            case WITHDRAWAL -> accountService.withdraw(accountId, amount);
+            case TRANSFER -> accountService.transfer(accountId, targetAccountId, amount);
+        }
+    }
+
+    private Transaction newTransaction(String idempotencyKey,
+                                       TransactionType type,
+                                       String sourceAccountId,
+                                       String targetAccountId,
+                                       BigDecimal amount,
+                                       String currency,
+                                       String description) {
         Transaction transaction = new Transaction();
         transaction.setIdempotencyKey(idempotencyKey);
         transaction.setType(type);
@@ -110,36 +426,29 @@ public class TransactionService {
         transaction.setAmount(amount);
         transaction.setCurrency(currency.toUpperCase());
         transaction.setDescription(description);
-        transaction.setCompletedAt(Instant.now());
-        return transactionRepository.save(transaction);
+        return transaction;
+    }
+
+    private static Optional<UUID> parseId(String transactionId) {
+        try {
+            return Optional.of(UUID.fromString(transactionId));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
     }
 
     private String normalizeIdempotency(String key) {
         return (key == null || key.isBlank()) ? UUID.randomUUID().toString() : key;
     }
 
-    private void ensureIdempotency(String idempotencyKey) {
-        if (transactionRepository.findByIdempotencyKey(idempotencyKey).isPresent()) {
-            throw new DuplicateTransactionException(idempotencyKey);
-        }
+    private void publishEvent(Transaction transaction, String eventType) {
+        transactionOutbox.enqueue(transaction, eventType);
+        readYourWrites.recordAfterCommit(transaction.getSourceAccountId(), transaction.getTargetAccountId());
     }
 
-    private void publishEvent(Transaction transaction, String eventType) {
-        TransactionEvent event = new TransactionEvent();
-        event.setEventId(UUID.randomUUID().toString());
-        event.setEventType(eventType);
-        event.setTransactionId(transaction.getId());
-        event.setSourceAccountId(transaction.getSourceAccountId());
-        event.setTargetAccountId(transaction.getTargetAccountId());
-        event.setAmount(transaction.getAmount());
-        event.setCurrency(transaction.getCurrency());
-        event.setOccurredAt(Instant.now());
-        kafkaTemplate.send(topicName, transaction.getId(), event);
-    }
-
-    private TransactionResponse toResponse(Transaction transaction) {
+    public static TransactionResponse toResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
-        response.setTransactionId(transaction.getId());
+        response.setTransactionId(transaction.getId() == null ? null : transaction.getId().toString());
         response.setType(transaction.getType());
         response.setStatus(transaction.getStatus());
         response.setSourceAccountId(transaction.getSourceAccountId());
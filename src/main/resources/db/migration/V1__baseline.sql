@@ -0,0 +1,15 @@
+create table transactions (
+    id varchar(255) not null,
+    idempotency_key varchar(100) not null unique,
+    transaction_type varchar(20) not null,
+    status varchar(20) not null,
+    source_account_id varchar(36),
+    target_account_id varchar(36),
+    amount numeric(19, 2) not null,
+    currency varchar(3) not null,
+    description varchar(500),
+    created_at timestamp(6) with time zone not null,
+    completed_at timestamp(6) with time zone,
+    version bigint,
+    primary key (id)
+);
@@ -0,0 +1,99 @@
+alter table transactions alter column id type uuid using id::uuid;
+
+alter table transactions add column source_balance_after numeric(19, 2);
+alter table transactions add column target_balance_after numeric(19, 2);
+
+do $$
+declare
+    existing text;
+begin
+    select c.conname into existing
+    from pg_constraint c
+    join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+    where c.conrelid = 'transactions'::regclass
+      and c.contype = 'u'
+      and array_length(c.conkey, 1) = 1
+      and a.attname = 'idempotency_key';
+    if existing is null then
+        alter table transactions add constraint uk_transactions_idempotency_key unique (idempotency_key);
+    elsif existing <> 'uk_transactions_idempotency_key' then
+        execute format('alter table transactions rename constraint %I to uk_transactions_idempotency_key', existing);
+    end if;
+end
+$$;
+
+create index idx_transactions_source_created on transactions (source_account_id, created_at, id);
+create index idx_transactions_target_created on transactions (target_account_id, created_at, id);
+
+create sequence balance_journal_seq start with 1 increment by 50;
+
+create table balance_journal (
+    id bigint not null,
+    account_id varchar(36) not null,
+    delta numeric(19, 2) not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create table account_snapshots (
+    account_id varchar(36) not null,
+    balance numeric(19, 2) not null,
+    updated_at timestamp(6) with time zone not null,
+    version bigint,
+    primary key (account_id)
+);
+
+create sequence balance_checkpoints_seq start with 1 increment by 50;
+
+create table balance_checkpoints (
+    id bigint not null,
+    account_id varchar(36) not null,
+    balance numeric(19, 2) not null,
+    as_of timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_balance_checkpoints_account_as_of on balance_checkpoints (account_id, as_of);
+
+create table account_event_sequences (
+    account_id varchar(36) not null,
+    last_sequence bigint not null,
+    primary key (account_id)
+);
+
+create sequence transaction_outbox_seq start with 1 increment by 50;
+
+create table transaction_outbox (
+    id bigint not null,
+    event_id varchar(36) not null,
+    event_type varchar(50) not null,
+    message_key varchar(36) not null,
+    transaction_id varchar(36) not null,
+    account_id varchar(36) not null,
+    entry_type varchar(6) not null,
+    account_sequence bigint not null,
+    balance_after numeric(19, 2),
+    source_account_id varchar(36),
+    target_account_id varchar(36),
+    amount numeric(19, 2) not null,
+    currency varchar(3) not null,
+    occurred_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    published_at timestamp(6) with time zone,
+    claimed_until timestamp(6) with time zone,
+    primary key (id)
+);
+
+create index idx_outbox_pending on transaction_outbox (published_at, id);
+
+create table daily_account_aggregates (
+    account_id varchar(36) not null,
+    business_date date not null,
+    transaction_type varchar(20) not null,
+    entry_type varchar(6) not null,
+    transaction_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (account_id, business_date, transaction_type, entry_type)
+);
@@ -0,0 +1,14 @@
+alter table account_event_sequences add column balance numeric(19, 2) not null default 0;
+alter table account_event_sequences add column posted_at timestamp(6) with time zone;
+
+insert into account_event_sequences (account_id, last_sequence, balance)
+select account_id, 0, 0 from account_snapshots
+union
+select account_id, 0, 0 from balance_journal
+on conflict do nothing;
+
+update account_event_sequences s
+set balance = coalesce((select a.balance from account_snapshots a where a.account_id = s.account_id), 0)
+        + coalesce((select sum(j.delta) from balance_journal j where j.account_id = s.account_id), 0),
+    posted_at = (select max(t.created_at) from transactions t
+                 where t.source_account_id = s.account_id or t.target_account_id = s.account_id);
@@ -0,0 +1,8 @@
+create index idx_outbox_key_pending on transaction_outbox (message_key, published_at, id);
+
+create table outbox_claim_locks (
+    name varchar(50) not null,
+    primary key (name)
+);
+
+insert into outbox_claim_locks (name) values ('outbox-relay');
@@ -0,0 +1,219 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.model.OutboxEvent;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.OutboxEventRepository;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.AccountService;
+import com.dailybanking.transaction.service.BalanceHistoryService;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceHistoryIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldAnswerBalanceAsOfEarlierPointsInTime() throws InterruptedException {
+        Instant beforeAny = Instant.now();
+        Thread.sleep(2);
+        TransactionResponse deposit = deposit("acc-hist-a", 100);
+        Thread.sleep(2);
+        TransactionResponse transfer = transfer("acc-hist-a", "acc-hist-b", 30);
+        Thread.sleep(2);
+        withdraw("acc-hist-a", 20);
+
+        assertEquals(new BigDecimal("0.00"), balanceHistoryService.balanceAsOf("acc-hist-a", beforeAny));
+        assertEquals(new BigDecimal("100.00"), balanceHistoryService.balanceAsOf("acc-hist-a", deposit.getCreatedAt()));
+        assertEquals(new BigDecimal("70.00"), balanceHistoryService.balanceAsOf("acc-hist-a", transfer.getCreatedAt()));
+        assertEquals(new BigDecimal("30.00"), balanceHistoryService.balanceAsOf("acc-hist-b", transfer.getCreatedAt()));
+        assertEquals(new BigDecimal("50.00"), balanceHistoryService.balanceAsOf("acc-hist-a", Instant.now()));
+    }
+
+    @Test
+    void shouldCheckpointActiveAccounts() {
+        deposit("acc-hist-checkpoint", 40);
+        Instant cutoff = Instant.now();
+
+        assertTrue(balanceHistoryService.checkpoint(cutoff) >= 1);
+        assertEquals(0, balanceHistoryService.checkpoint(cutoff));
+        assertEquals(new BigDecimal("40.00"), balanceHistoryService.balanceAsOf("acc-hist-checkpoint", cutoff));
+    }
+
+    @Test
+    void shouldKeepRunningBalancesExactWhenConcurrentWritesRollBack() throws Exception {
+        deposit("acc-hist-rollback", 1_000);
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+        List<Future<?>> writes = new ArrayList<>();
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 64; i++) {
+                if (i % 2 == 0) {
+                    writes.add(writers.submit(() -> rolledBack.executeWithoutResult(status -> {
+                        deposit("acc-hist-rollback", 7);
+                        status.setRollbackOnly();
+                    })));
+                } else {
+                    writes.add(writers.submit(() -> withdraw("acc-hist-rollback", 3)));
+                }
+            }
+        }
+        for (Future<?> write : writes) {
+            write.get();
+        }
+
+        List<Transaction> rows = new ArrayList<>(transactionRepository
+                .findBySourceAccountIdOrderByCreatedAtDescIdDesc("acc-hist-rollback", PageRequest.of(0, 100)));
+        Collections.reverse(rows);
+        assertEquals(33, rows.size());
+        BigDecimal running = BigDecimal.ZERO;
+        for (Transaction row : rows) {
+            running = row.getType() == TransactionType.DEPOSIT
+                    ? running.add(row.getAmount())
+                    : running.subtract(row.getAmount());
+            assertEquals(0, running.compareTo(row.getSourceBalanceAfter()));
+            assertEquals(0, running.compareTo(balanceHistoryService.balanceAsOf("acc-hist-rollback",
+                    row.getCreatedAt())));
+        }
+        assertEquals(new BigDecimal("904.00"), accountService.getBalance("acc-hist-rollback"));
+    }
+
+    @Test
+    void shouldPostOtherAccountsWhileAWriteIsUncommitted() throws Exception {
+        String neighbour = stripeNeighbour("acc-hist-open", 1024);
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        TransactionTemplate open = new TransactionTemplate(transactionManager);
+        try (ExecutorService writers = Executors.newFixedThreadPool(2)) {
+            Future<?> pending = writers.submit(() -> open.executeWithoutResult(status -> {
+                deposit("acc-hist-open", 10);
+                posted.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            posted.await();
+            try {
+                TransactionResponse other = writers.submit(() -> deposit(neighbour, 20)).get(10, TimeUnit.SECONDS);
+                assertEquals(new BigDecimal("20.00"),
+                        balanceHistoryService.balanceAsOf(neighbour, other.getCreatedAt()));
+            } finally {
+                released.countDown();
+            }
+            pending.get();
+        }
+        assertEquals(new BigDecimal("10.00"), accountService.getBalance("acc-hist-open"));
+    }
+
+    @Test
+    void shouldRecordExactRunningBalancesForHotAccounts() {
+        accountService.promote("acc-hist-hot");
+        deposit("acc-hist-hot", 100);
+        deposit("acc-hist-other", 30);
+        TransactionResponse transfer = transfer("acc-hist-other", "acc-hist-hot", 30);
+        withdraw("acc-hist-hot", 40);
+        TransactionResponse last = deposit("acc-hist-hot", 5);
+
+        assertTrue(accountService.isHot("acc-hist-hot"));
+        assertEquals(new BigDecimal("130.00"),
+                balanceHistoryService.balanceAsOf("acc-hist-hot", transfer.getCreatedAt()));
+        assertEquals(new BigDecimal("95.00"),
+                balanceHistoryService.balanceAsOf("acc-hist-hot", last.getCreatedAt()));
+        List<OutboxEvent> events = outboxRepository.findAll().stream()
+                .filter(event -> event.getAccountId().equals("acc-hist-hot"))
+                .sorted(Comparator.comparingLong(OutboxEvent::getAccountSequence))
+                .toList();
+        assertEquals(List.of("100.00", "130.00", "90.00", "95.00"),
+                events.stream().map(event -> event.getBalanceAfter().toPlainString()).toList());
+    }
+
+    private static String stripeNeighbour(String accountId, int stripes) {
+        for (int i = 0; ; i++) {
+            String candidate = accountId + "-" + i;
+            if (stripe(candidate, stripes) == stripe(accountId, stripes)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int stripe(String accountId, int stripes) {
+        int hash = accountId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes - 1);
+    }
+
+    private TransactionResponse deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return transactionService.deposit(request);
+    }
+
+    private TransactionResponse withdraw(String accountId, long amount) {
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return transactionService.withdraw(request);
+    }
+
+    private TransactionResponse transfer(String sourceAccountId, String targetAccountId, long amount) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccountId(sourceAccountId);
+        request.setTargetAccountId(targetAccountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return transactionService.transfer(request);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.service.BalanceLedger;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceLedgerIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldRecoverBalancesFromSnapshotAndJournalTail() {
+        DepositRequest deposit = new DepositRequest();
+        deposit.setAccountId("acc-ledger-1");
+        deposit.setAmount(BigDecimal.valueOf(100));
+        deposit.setCurrency("EUR");
+        transactionService.deposit(deposit);
+
+        balanceLedger.compact();
+
+        WithdrawalRequest withdrawal = new WithdrawalRequest();
+        withdrawal.setAccountId("acc-ledger-1");
+        withdrawal.setAmount(BigDecimal.valueOf(30));
+        withdrawal.setCurrency("EUR");
+        transactionService.withdraw(withdrawal);
+
+        var recovered = balanceLedger.recover();
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(recovered.get("acc-ledger-1")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.AccountSummaryResponse;
+import com.dailybanking.transaction.dto.AggregateBackfillReport;
+import com.dailybanking.transaction.dto.DailyTotalsResponse;
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.exception.InvalidDateRangeException;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.DailyAggregateBackfill;
+import com.dailybanking.transaction.service.DailyAggregateService;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyAggregateIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyAggregateService aggregateService;
+
+    @Autowired
+    private DailyAggregateBackfill backfill;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldMaintainDailyTotalsWithEveryWrite() {
+        deposit("acc-agg-a", 100);
+        deposit("acc-agg-a", 40);
+        withdraw("acc-agg-a", 15);
+        transfer("acc-agg-a", "acc-agg-b", 25);
+
+        AccountSummaryResponse source = summarizeAroundToday("acc-agg-a");
+        assertTotals(source, TransactionType.DEPOSIT, "CREDIT", 2, "140.00", "40.00", "100.00");
+        assertTotals(source, TransactionType.WITHDRAWAL, "DEBIT", 1, "15.00", "15.00", "15.00");
+        assertTotals(source, TransactionType.TRANSFER, "DEBIT", 1, "25.00", "25.00", "25.00");
+        assertTotals(summarizeAroundToday("acc-agg-b"), TransactionType.TRANSFER, "CREDIT", 1, "25.00", "25.00", "25.00");
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdatesToTheSameAggregate() throws Exception {
+        deposit("acc-agg-concurrent", 1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(16)) {
+            for (int i = 2; i <= 64; i++) {
+                long amount = i;
+                results.add(callers.submit(() -> deposit("acc-agg-concurrent", amount)));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        assertTotals(summarizeAroundToday("acc-agg-concurrent"), TransactionType.DEPOSIT, "CREDIT",
+                64, "2080.00", "1.00", "64.00");
+    }
+
+    @Test
+    void shouldBackfillAggregatesFromExistingHistory() {
+        LocalDate first = aggregateService.today().minusDays(3);
+        LocalDate second = first.plusDays(1);
+        transactionRepository.saveAll(List.of(
+                historical(first, TransactionType.DEPOSIT, "acc-agg-old", null, "50.00"),
+                historical(first, TransactionType.DEPOSIT, "acc-agg-old", null, "20.00"),
+                historical(second, TransactionType.TRANSFER, "acc-agg-old", "acc-agg-old-b", "30.00")));
+
+        AggregateBackfillReport report = backfill.backfill(first, second);
+        backfill.backfill(first, second);
+
+        assertEquals(2, report.getDays());
+        AccountSummaryResponse summary = aggregateService.summarize("acc-agg-old", first, second);
+        assertEquals(2, summary.getDays().size());
+        assertTotals(summary, TransactionType.DEPOSIT, "CREDIT", 2, "70.00", "20.00", "50.00");
+        assertTotals(summary, TransactionType.TRANSFER, "DEBIT", 1, "30.00", "30.00", "30.00");
+        assertTotals(aggregateService.summarize("acc-agg-old-b", second, second),
+                TransactionType.TRANSFER, "CREDIT", 1, "30.00", "30.00", "30.00");
+    }
+
+    @Test
+    void shouldRefuseToBackfillTheCurrentDay() {
+        LocalDate today = aggregateService.today();
+        assertThrows(InvalidDateRangeException.class, () -> backfill.backfill(today.minusDays(1), today));
+    }
+
+    private AccountSummaryResponse summarizeAroundToday(String accountId) {
+        LocalDate today = aggregateService.today();
+        return aggregateService.summarize(accountId, today.minusDays(1), today);
+    }
+
+    private static void assertTotals(AccountSummaryResponse summary,
+                                     TransactionType type,
+                                     String entryType,
+                                     long count,
+                                     String total,
+                                     String min,
+                                     String max) {
+        DailyTotalsResponse totals = summary.getTotals().stream()
+                .filter(row -> row.getType() == type && row.getEntryType().equals(entryType))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(count, totals.getCount());
+        assertEquals(new BigDecimal(total), totals.getTotal());
+        assertEquals(new BigDecimal(min), totals.getMin());
+        assertEquals(new BigDecimal(max), totals.getMax());
+    }
+
+    private Transaction historical(LocalDate day,
+                                   TransactionType type,
+                                   String sourceAccountId,
+                                   String targetAccountId,
+                                   String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setId(TimeOrderedIds.next());
+        transaction.setIdempotencyKey(UUID.randomUUID().toString());
+        transaction.setType(type);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setSourceAccountId(sourceAccountId);
+        transaction.setTargetAccountId(targetAccountId);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setCurrency("EUR");
+        transaction.setCreatedAt(day.atTime(12, 0).atZone(aggregateService.zone()).toInstant());
+        return transaction;
+    }
+
+    private void deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.deposit(request);
+    }
+
+    private void withdraw(String accountId, long amount) {
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.withdraw(request);
+    }
+
+    private void transfer(String sourceAccountId, String targetAccountId, long amount) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccountId(sourceAccountId);
+        request.setTargetAccountId(targetAccountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.transfer(request);
+    }
+}
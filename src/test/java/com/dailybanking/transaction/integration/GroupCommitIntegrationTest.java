@@ -0,0 +1,105 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.service.AccountService;
+import com.dailybanking.transaction.service.GroupCommitCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groupcommittest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "app.group-commit.enabled=true",
+        "app.group-commit.max-batch-size=16",
+        "app.group-commit.max-wait-micros=5000"
+})
+@ActiveProfiles("test")
+class GroupCommitIntegrationTest {
+
+    @Autowired
+    private GroupCommitCoordinator coordinator;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldCommitConcurrentDepositsInGroupsAndReleaseEachCaller() throws Exception {
+        List<Future<TransactionResponse>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < 64; i++) {
+                results.add(callers.submit(() -> coordinator.deposit(deposit("acc-group", 5))));
+            }
+        }
+
+        for (Future<TransactionResponse> result : results) {
+            assertEquals("COMPLETED", result.get().getStatus().name());
+        }
+        assertEquals(new BigDecimal("320.00"), accountService.getBalance("acc-group"));
+        double groups = meterRegistry.get("transaction.group.size").summary().count();
+        assertTrue(groups >= 1 && groups < 64, "expected writes to share commits but saw " + groups + " groups");
+    }
+
+    @Test
+    void shouldRejectFailingWriteWithoutAffectingOthers() {
+        coordinator.deposit(deposit("acc-group-mixed", 10));
+        WithdrawalRequest overdraw = new WithdrawalRequest();
+        overdraw.setAccountId("acc-group-mixed");
+        overdraw.setAmount(BigDecimal.valueOf(1_000));
+        overdraw.setCurrency("EUR");
+
+        assertThrows(InsufficientBalanceException.class, () -> coordinator.withdraw(overdraw));
+        coordinator.deposit(deposit("acc-group-mixed", 5));
+
+        assertEquals(new BigDecimal("15.00"), accountService.getBalance("acc-group-mixed"));
+    }
+
+    @Test
+    void shouldReplaySameKeyRetriesThatLandInTheSameGroup() throws Exception {
+        List<Future<TransactionResponse>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                DepositRequest request = deposit("acc-group-retry", 5);
+                request.setIdempotencyKey("group-retry-" + (i % 8));
+                results.add(callers.submit(() -> coordinator.deposit(request)));
+            }
+        }
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals(results.get(i).get().getTransactionId(), results.get(i + 8).get().getTransactionId());
+        }
+        assertEquals(new BigDecimal("40.00"), accountService.getBalance("acc-group-retry"));
+    }
+
+    private static DepositRequest deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return request;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.BalanceMismatch;
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.ReconciliationReport;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.LedgerReconciliation;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliationtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "app.reconciliation.chunks=8",
+        "app.reconciliation.page-size=7",
+        "app.reconciliation.recheck-delay-ms=10",
+        "app.reconciliation.max-reported=1000"
+})
+@ActiveProfiles("test")
+class LedgerReconciliationIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerReconciliation reconciliation;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldReconcileBalancesWrittenThroughTheService() {
+        for (int i = 0; i < 20; i++) {
+            deposit("acc-recon-" + (i % 5), 100 + i);
+        }
+        withdraw("acc-recon-0", 30);
+        transfer("acc-recon-1", "acc-recon-2", 45);
+
+        ReconciliationReport report = reconciliation.reconcile();
+
+        assertTrue(report.getRows() >= 22);
+        assertTrue(report.getChunks() >= 1);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(mismatch(report, "acc-recon-" + i).isEmpty());
+        }
+    }
+
+    @Test
+    void shouldReportAccountsWhoseBalanceDriftedFromTheirTransactions() {
+        deposit("acc-recon-drift", 100);
+        Transaction unrecorded = new Transaction();
+        unrecorded.setId(TimeOrderedIds.next());
+        unrecorded.setIdempotencyKey(UUID.randomUUID().toString());
+        unrecorded.setType(TransactionType.DEPOSIT);
+        unrecorded.setStatus(TransactionStatus.COMPLETED);
+        unrecorded.setSourceAccountId("acc-recon-drift");
+        unrecorded.setAmount(new BigDecimal("25.00"));
+        unrecorded.setCurrency("EUR");
+        unrecorded.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        transactionRepository.save(unrecorded);
+
+        BalanceMismatch mismatch = mismatch(reconciliation.reconcile(), "acc-recon-drift").orElseThrow();
+
+        assertEquals(0, new BigDecimal("125.00").compareTo(mismatch.getLedgerBalance()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(mismatch.getLiveBalance()));
+        assertEquals(0, new BigDecimal("-25.00").compareTo(mismatch.getDifference()));
+    }
+
+    private static Optional<BalanceMismatch> mismatch(ReconciliationReport report, String accountId) {
+        return report.getMismatches().stream()
+                .filter(mismatch -> mismatch.getAccountId().equals(accountId))
+                .findFirst();
+    }
+
+    private void deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.deposit(request);
+    }
+
+    private void withdraw(String accountId, long amount) {
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.withdraw(request);
+    }
+
+    private void transfer(String sourceAccountId, String targetAccountId, long amount) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccountId(sourceAccountId);
+        request.setTargetAccountId(targetAccountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.transfer(request);
+    }
+}
@@ -0,0 +1,231 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.model.OutboxEvent;
+import com.dailybanking.transaction.repository.OutboxEventRepository;
+import com.dailybanking.transaction.service.OutboxRelay;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldPublishCommittedTransactionsFromOutbox() {
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-outbox-1");
+        request.setAmount(BigDecimal.valueOf(42));
+        request.setCurrency("EUR");
+        var response = transactionService.deposit(request);
+
+        outboxRelay.drain();
+
+        ArgumentCaptor<TransactionEvent> event = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(kafkaTemplate, atLeastOnce()).send(eq("banking.transaction.events"),
+                eq("acc-outbox-1"), event.capture());
+        assertEquals(response.getTransactionId(), event.getValue().getTransactionId());
+        assertEquals("CREDIT", event.getValue().getEntryType());
+        assertNull(outboxRepository.findOldestPendingCreatedAt());
+    }
+
+    @Test
+    void shouldPublishDebitAndCreditEventsKeyedByAccountWithSequences() {
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        DepositRequest deposit = new DepositRequest();
+        deposit.setAccountId("acc-outbox-src");
+        deposit.setAmount(BigDecimal.valueOf(100));
+        deposit.setCurrency("EUR");
+        transactionService.deposit(deposit);
+
+        TransferRequest transfer = new TransferRequest();
+        transfer.setSourceAccountId("acc-outbox-src");
+        transfer.setTargetAccountId("acc-outbox-dst");
+        transfer.setAmount(BigDecimal.valueOf(30));
+        transfer.setCurrency("EUR");
+        var response = transactionService.transfer(transfer);
+
+        outboxRelay.drain();
+
+        ArgumentCaptor<TransactionEvent> source = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(kafkaTemplate, times(2)).send(eq("banking.transaction.events"), eq("acc-outbox-src"), source.capture());
+        assertEquals(List.of(1L, 2L), source.getAllValues().stream().map(TransactionEvent::getAccountSequence).toList());
+        TransactionEvent debit = source.getAllValues().get(1);
+        assertEquals("DEBIT", debit.getEntryType());
+        assertEquals(response.getTransactionId(), debit.getTransactionId());
+        assertEquals(0, new BigDecimal("70.00").compareTo(debit.getBalanceAfter()));
+
+        ArgumentCaptor<TransactionEvent> target = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(kafkaTemplate).send(eq("banking.transaction.events"), eq("acc-outbox-dst"), target.capture());
+        assertEquals("CREDIT", target.getValue().getEntryType());
+        assertEquals(1L, target.getValue().getAccountSequence());
+        assertEquals(response.getTransactionId(), target.getValue().getTransactionId());
+    }
+
+    @Test
+    void shouldSendOutsideTheClaimTransactionAndRetryUnsentEvents() {
+        List<Boolean> sentInTransaction = new ArrayList<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            sentInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+        });
+
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-outbox-retry");
+        request.setAmount(BigDecimal.valueOf(12));
+        request.setCurrency("EUR");
+        transactionService.deposit(request);
+
+        assertEquals(0, outboxRelay.drain());
+        assertFalse(sentInTransaction.isEmpty());
+        assertFalse(sentInTransaction.contains(true));
+        assertNotNull(outboxRepository.findOldestPendingCreatedAt());
+
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.drain();
+
+        verify(kafkaTemplate).send(eq("banking.transaction.events"), eq("acc-outbox-retry"), any());
+        assertNull(outboxRepository.findOldestPendingCreatedAt());
+    }
+
+    @Test
+    void shouldHoldBackLaterEventsOfAnAccountAfterAFailedSend() {
+        deposit("acc-outbox-order", 10);
+        deposit("acc-outbox-order", 20);
+        deposit("acc-outbox-order", 30);
+        deposit("acc-outbox-other", 5);
+        List<Long> sent = new ArrayList<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            TransactionEvent event = invocation.getArgument(2);
+            if (!event.getAccountId().equals("acc-outbox-order")) {
+                return CompletableFuture.completedFuture(null);
+            }
+            sent.add(event.getAccountSequence());
+            return event.getAccountSequence() == 1L
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        outboxRelay.drain();
+
+        assertEquals(List.of(1L), sent);
+        assertEquals(3, pendingSequences("acc-outbox-order").size());
+        assertTrue(pendingSequences("acc-outbox-other").isEmpty());
+
+        reset(kafkaTemplate);
+        sent.clear();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            TransactionEvent event = invocation.getArgument(2);
+            if (event.getAccountId().equals("acc-outbox-order")) {
+                sent.add(event.getAccountSequence());
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        outboxRelay.drain();
+
+        assertEquals(List.of(1L, 2L, 3L), sent);
+        assertTrue(pendingSequences("acc-outbox-order").isEmpty());
+    }
+
+    @Test
+    void shouldNotClaimPastAnEventOfTheSameAccountClaimedElsewhere() {
+        deposit("acc-outbox-claimed", 10);
+        deposit("acc-outbox-claimed", 20);
+        List<Long> sent = new ArrayList<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            TransactionEvent event = invocation.getArgument(2);
+            if (event.getAccountId().equals("acc-outbox-claimed")) {
+                sent.add(event.getAccountSequence());
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        Long first = pendingEvents("acc-outbox-claimed").get(0).getId();
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        transactions.executeWithoutResult(status ->
+                outboxRepository.claim(List.of(first), Instant.now().plus(Duration.ofHours(1))));
+
+        outboxRelay.drain();
+
+        assertTrue(sent.isEmpty());
+        assertEquals(List.of(1L, 2L), pendingSequences("acc-outbox-claimed"));
+
+        transactions.executeWithoutResult(status -> outboxRepository.release(List.of(first)));
+        outboxRelay.drain();
+
+        assertEquals(List.of(1L, 2L), sent);
+    }
+
+    private void deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        transactionService.deposit(request);
+    }
+
+    private List<OutboxEvent> pendingEvents(String accountId) {
+        return outboxRepository.findAll().stream()
+                .filter(event -> event.getAccountId().equals(accountId) && event.getPublishedAt() == null)
+                .sorted(Comparator.comparingLong(OutboxEvent::getAccountSequence))
+                .toList();
+    }
+
+    private List<Long> pendingSequences(String accountId) {
+        return pendingEvents(accountId).stream().map(OutboxEvent::getAccountSequence).toList();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.config.ReplicaRoutingDataSource;
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY,
+        "app.replicas.enabled=true",
+        "app.replicas.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_1 + "," + ReadReplicaRoutingIntegrationTest.REPLICA_2,
+        "app.replicas.lag-query=select lag_ms from replication_status",
+        "app.replicas.max-lag-ms=1000",
+        "app.replicas.health-check-interval-ms=3600000",
+        "app.history.recent.enabled=false"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:replicaprimary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:replica2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @BeforeEach
+    void setupDatabases() throws SQLException {
+        prepare(PRIMARY, "primary", 0);
+        prepare(REPLICA_1, "replica-1", 0);
+        prepare(REPLICA_2, "replica-2", 0);
+        routing.checkReplicas();
+    }
+
+    @Test
+    void shouldBalanceReadOnlyTransactionsAcrossReplicasAndKeepWritesOnPrimary() {
+        Set<String> readers = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            readers.add(readMarker(true));
+        }
+
+        assertEquals(Set.of("replica-1", "replica-2"), readers);
+        assertEquals("primary", readMarker(false));
+    }
+
+    @Test
+    void shouldTakeLaggingReplicaOutOfRotationUntilItCatchesUp() throws SQLException {
+        setLag(REPLICA_1, 60_000);
+        routing.checkReplicas();
+
+        assertFalse(routing.isInRotation("replica-1"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("replica-2", readMarker(true));
+        }
+
+        setLag(REPLICA_1, 10);
+        routing.checkReplicas();
+        assertTrue(routing.isInRotation("replica-1"));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenNoReplicaPassesItsHealthCheck() throws SQLException {
+        execute(REPLICA_1, "drop table replication_status");
+        execute(REPLICA_2, "drop table replication_status");
+        routing.checkReplicas();
+
+        assertEquals(0, routing.replicasInRotation());
+        assertEquals("primary", readMarker(true));
+    }
+
+    @Test
+    void shouldReadHistoryFromPrimaryRightAfterTheCallerWrites() {
+        double replicaReads = replicaReads();
+        double stickyReads = meterRegistry.get("datasource.reads.sticky").counter().count();
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-read-your-writes");
+        request.setAmount(BigDecimal.TEN);
+        request.setCurrency("EUR");
+        transactionService.deposit(request);
+
+        TransactionPage page = transactionService.findByAccount("acc-read-your-writes", null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(stickyReads + 1, meterRegistry.get("datasource.reads.sticky").counter().count());
+        assertEquals(replicaReads, replicaReads());
+    }
+
+    private String readMarker(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select name from replica_marker", String.class));
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("datasource.reads").tag("target", "replica-1").counter().count()
+                + meterRegistry.get("datasource.reads").tag("target", "replica-2").counter().count();
+    }
+
+    private static void prepare(String url, String name, long lagMillis) throws SQLException {
+        execute(url, "create table if not exists replica_marker (name varchar(32))");
+        execute(url, "delete from replica_marker");
+        execute(url, "insert into replica_marker values ('" + name + "')");
+        execute(url, "create table if not exists replication_status (lag_ms bigint)");
+        setLag(url, lagMillis);
+    }
+
+    private static void setLag(String url, long lagMillis) throws SQLException {
+        execute(url, "delete from replication_status");
+        execute(url, "insert into replication_status values (" + lagMillis + ")");
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
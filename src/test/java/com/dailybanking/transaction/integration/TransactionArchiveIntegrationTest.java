@@ -0,0 +1,151 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.ArchiveReport;
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.ReconciliationReport;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.dto.TransferRequest;
+import com.dailybanking.transaction.exception.InvalidDateRangeException;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.BalanceHistoryService;
+import com.dailybanking.transaction.service.DailyAggregateBackfill;
+import com.dailybanking.transaction.service.LedgerReconciliation;
+import com.dailybanking.transaction.service.TransactionArchive;
+import com.dailybanking.transaction.service.TransactionArchiver;
+import com.dailybanking.transaction.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivetest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "app.history.recent.enabled=false",
+        "app.archive.segment-rows=8",
+        "app.archive.block-rows=4"
+})
+@ActiveProfiles("test")
+class TransactionArchiveIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiver archiver;
+
+    @Autowired
+    private TransactionArchive archive;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private LedgerReconciliation reconciliation;
+
+    @Autowired
+    private DailyAggregateBackfill backfill;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldServeArchivedTransactionsAlongsideHotOnes() throws InterruptedException {
+        List<TransactionResponse> old = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            old.add(deposit("acc-arch-a", 10 + i));
+        }
+        old.add(transfer("acc-arch-a", "acc-arch-b", 50));
+        Thread.sleep(2);
+        Instant cutoff = Instant.now();
+        Thread.sleep(2);
+        for (int i = 0; i < 5; i++) {
+            deposit("acc-arch-a", 1);
+        }
+
+        ArchiveReport report = archiver.archive(cutoff);
+
+        assertTrue(report.getTransactions() >= old.size());
+        assertTrue(report.getSegments() >= 3);
+        for (TransactionResponse response : old) {
+            UUID id = UUID.fromString(response.getTransactionId());
+            assertTrue(transactionRepository.findById(id).isEmpty());
+            assertEquals(0, response.getAmount().compareTo(archive.findById(id).orElseThrow().getAmount()));
+            assertEquals(response.getTransactionId(), transactionService.getById(response.getTransactionId()).getTransactionId());
+        }
+
+        List<TransactionResponse> history = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage page = transactionService.findByAccount("acc-arch-a", cursor, 7);
+            history.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(26, history.size());
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < history.size(); i++) {
+            assertTrue(ids.add(history.get(i).getTransactionId()));
+            if (i > 0) {
+                assertFalse(history.get(i).getCreatedAt().isAfter(history.get(i - 1).getCreatedAt()));
+            }
+        }
+        assertEquals(old.get(old.size() - 1).getTransactionId(), history.get(5).getTransactionId());
+        assertEquals(1, transactionService.findByAccount("acc-arch-b", null, 10).getItems().size());
+
+        assertEquals(0, new BigDecimal("340.00").compareTo(balanceHistoryService.balanceAsOf("acc-arch-a", cutoff)));
+        assertEquals(0, new BigDecimal("345.00").compareTo(balanceHistoryService.balanceAsOf("acc-arch-a", Instant.now())));
+        assertEquals(0, new BigDecimal("50.00").compareTo(balanceHistoryService.balanceAsOf("acc-arch-b", Instant.now())));
+
+        ReconciliationReport reconciled = reconciliation.reconcile();
+        assertTrue(reconciled.getMismatches().stream()
+                .noneMatch(mismatch -> mismatch.getAccountId().startsWith("acc-arch-")));
+    }
+
+    @Test
+    void shouldRefuseToBackfillDaysThatWereArchived() throws InterruptedException {
+        deposit("acc-arch-backfill", 10);
+        Thread.sleep(2);
+        archiver.archive(Instant.now());
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        assertThrows(InvalidDateRangeException.class, () -> backfill.backfill(yesterday.minusDays(1), yesterday));
+    }
+
+    private TransactionResponse deposit(String accountId, long amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId(accountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return transactionService.deposit(request);
+    }
+
+    private TransactionResponse transfer(String sourceAccountId, String targetAccountId, long amount) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccountId(sourceAccountId);
+        request.setTargetAccountId(targetAccountId);
+        request.setAmount(BigDecimal.valueOf(amount));
+        request.setCurrency("EUR");
+        return transactionService.transfer(request);
+    }
+}
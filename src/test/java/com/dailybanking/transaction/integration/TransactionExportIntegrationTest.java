@@ -0,0 +1,163 @@
+package com.dailybanking.transaction.integration;
+
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
+import com.dailybanking.transaction.dto.ExportFormat;
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.service.AdmissionControl;
+import com.dailybanking.transaction.service.TransactionExportService;
+import com.dailybanking.transaction.service.TransactionService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionExportIntegrationTest {
+
+    private static final int ROWS = 30_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+
+    @Test
+    void shouldExportCsvWithHeaderAndEscapedFields() {
+        Instant from = Instant.now().minus(1, ChronoUnit.MINUTES);
+        seed("acc-export-csv", 2, "rent, \"march\"");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long exported = exportService.export("acc-export-csv", from, Instant.now().plus(1, ChronoUnit.MINUTES),
+                ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("transactionId,type,status"));
+        assertTrue(lines[1].contains("\"rent, \"\"march\"\"\""));
+    }
+
+    @Test
+    void shouldKeepHeapFlatWhileStreamingLargeExport() {
+        Instant from = Instant.now().minus(1, ChronoUnit.MINUTES);
+        seed("acc-export-bulk", ROWS, "payroll");
+
+        HeapSamplingOutputStream output = new HeapSamplingOutputStream(ROWS / 6);
+        long exported = exportService.export("acc-export-bulk", from, Instant.now().plus(1, ChronoUnit.MINUTES),
+                ExportFormat.NDJSON, output);
+
+        assertEquals(ROWS, exported);
+        assertTrue(output.samples.size() >= 5);
+        long growth = output.samples.get(output.samples.size() - 1) - output.samples.get(0);
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES, "heap grew by " + growth + " bytes during export");
+    }
+
+    @Test
+    void shouldHoldExportPermitUntilBodyIsStreamed() throws Exception {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(AdmissionControl.EXPORT_BULKHEAD);
+        int size = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        double rejectedBefore = exportRejections();
+
+        List<StreamingResponseBody> pending = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            pending.add(admissionControl.export(output -> output.write('x')));
+        }
+        assertThrows(BulkheadFullException.class, () -> admissionControl.export(output -> { }));
+        assertEquals(rejectedBefore + 1, exportRejections());
+
+        for (StreamingResponseBody body : pending) {
+            body.writeTo(new ByteArrayOutputStream());
+        }
+        assertEquals(size, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private double exportRejections() {
+        return meterRegistry.get("transaction.admission.rejected")
+                .tag("operation", "export")
+                .tag("reason", "bulkhead")
+                .counter()
+                .count();
+    }
+
+    private void seed(String accountId, int rows, String description) {
+        for (int offset = 0; offset < rows; offset += BatchTransactionRequest.MAX_ITEMS) {
+            List<BatchTransactionItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(rows, offset + BatchTransactionRequest.MAX_ITEMS); i++) {
+                BatchTransactionItem item = new BatchTransactionItem();
+                item.setType(TransactionType.DEPOSIT);
+                item.setAccountId(accountId);
+                item.setAmount(BigDecimal.ONE);
+                item.setCurrency("EUR");
+                item.setDescription(description);
+                items.add(item);
+            }
+            BatchTransactionRequest request = new BatchTransactionRequest();
+            request.setItems(items);
+            transactionService.submitBatch(request);
+        }
+    }
+
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private final int sampleEveryLines;
+        private final List<Long> samples = new ArrayList<>();
+        private long lines;
+
+        private HeapSamplingOutputStream(int sampleEveryLines) {
+            this.sampleEveryLines = sampleEveryLines;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % sampleEveryLines == 0) {
+                System.gc();
+                Runtime runtime = Runtime.getRuntime();
+                samples.add(runtime.totalMemory() - runtime.freeMemory());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
@@ -2,17 +2,44 @@ package com.dailybanking.transaction.integration;
 
 import com.dailybanking.transaction.dto.DepositRequest;
 import com.dailybanking.transaction.dto.TransactionEvent;
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.dto.WithdrawalRequest;
+import com.dailybanking.transaction.exception.ErrorResponse;
+import com.dailybanking.transaction.exception.GlobalExceptionHandler;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import com.dailybanking.transaction.repository.TransactionRepository;
+import com.dailybanking.transaction.service.AccountService;
 import com.dailybanking.transaction.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -21,6 +48,18 @@ class TransactionServiceIntegrationTest {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
 
@@ -36,4 +75,95 @@ class TransactionServiceIntegrationTest {
         assertEquals("DEPOSIT", response.getType().name());
         assertEquals("COMPLETED", response.getStatus().name());
     }
+
+    @Test
+    void shouldPageAccountHistoryWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            DepositRequest request = new DepositRequest();
+            request.setAccountId("acc-int-page");
+            request.setAmount(BigDecimal.valueOf(10 + i));
+            request.setCurrency("EUR");
+            transactionService.deposit(request);
+        }
+
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = transactionService.findByAccount("acc-int-page", cursor, 2);
+            page.getItems().forEach(item -> assertTrue(seen.add(item.getTransactionId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void shouldOnlyTreatIdempotencyKeyCollisionsAsRetryableConflicts() {
+        String key = UUID.randomUUID().toString();
+        transactionRepository.saveAndFlush(row(key));
+
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class,
+                () -> transactionRepository.saveAndFlush(row(key)));
+        DataIntegrityViolationException tooLong = assertThrows(DataIntegrityViolationException.class,
+                () -> transactionRepository.saveAndFlush(row("k".repeat(101))));
+
+        ResponseEntity<ErrorResponse> conflict = exceptionHandler.handleConflict(duplicate);
+        ResponseEntity<ErrorResponse> failure = exceptionHandler.handleConflict(tooLong);
+
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failure.getStatusCode());
+    }
+
+    @Test
+    void shouldNotSpendCreditsBeforeTheyCommit() throws Exception {
+        CountDownLatch credited = new CountDownLatch(1);
+        CountDownLatch withdrawn = new CountDownLatch(1);
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+        Future<?> pendingDeposit;
+        try (ExecutorService writer = Executors.newSingleThreadExecutor()) {
+            pendingDeposit = writer.submit(() -> rolledBack.executeWithoutResult(status -> {
+                DepositRequest deposit = new DepositRequest();
+                deposit.setAccountId("acc-int-pending");
+                deposit.setAmount(BigDecimal.valueOf(50));
+                deposit.setCurrency("EUR");
+                transactionService.deposit(deposit);
+                credited.countDown();
+                try {
+                    withdrawn.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                status.setRollbackOnly();
+            }));
+            credited.await();
+            WithdrawalRequest withdrawal = new WithdrawalRequest();
+            withdrawal.setAccountId("acc-int-pending");
+            withdrawal.setAmount(BigDecimal.valueOf(30));
+            withdrawal.setCurrency("EUR");
+            try {
+                assertThrows(InsufficientBalanceException.class, () -> transactionService.withdraw(withdrawal));
+            } finally {
+                withdrawn.countDown();
+            }
+        }
+        pendingDeposit.get();
+
+        assertEquals(new BigDecimal("0.00"), accountService.getBalance("acc-int-pending"));
+    }
+
+    private static Transaction row(String idempotencyKey) {
+        Transaction transaction = new Transaction();
+        transaction.setId(TimeOrderedIds.next());
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setSourceAccountId("acc-int-integrity");
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setCurrency("EUR");
+        transaction.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        return transaction;
+    }
 }
@@ -0,0 +1,38 @@
+package com.dailybanking.transaction.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    void shouldProduceVersion7IdsThatSortInCreationOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedIds.next(1_700_000_000_000L));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(TimeOrderedIds.ORDER.compare(ids.get(i - 1), ids.get(i)) < 0);
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0);
+        }
+        assertEquals(7, ids.get(0).version());
+        assertEquals(2, ids.get(0).variant());
+    }
+
+    @Test
+    void shouldEncodeTheTimestampInTheLeadingBits() {
+        long before = System.currentTimeMillis();
+
+        UUID id = TimeOrderedIds.next();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,71 @@
+package com.dailybanking.transaction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void shouldRejectBeyondTheCurrentLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 100, 0.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(FAST, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void shouldGrowAdditivelyWhileSaturatedAndFast() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, 100, 0.5);
+
+        for (int round = 0; round < 40; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(FAST, false);
+            }
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void shouldNotGrowWhenMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 100, 100, 0.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void shouldBackOffMultiplicativelyOncePerWindowOnSlowOrDroppedCalls() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 10_000, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 20; i++) {
+            limit.release(i % 2 == 0 ? SLOW : FAST, i % 2 == 0);
+        }
+
+        assertEquals(20, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+}
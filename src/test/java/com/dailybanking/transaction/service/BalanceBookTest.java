@@ -0,0 +1,263 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.exception.BalanceOverflowException;
+import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceBookTest {
+
+    @Test
+    void shouldLeaveBothLegsUntouchedWhenTransferIsRejected() {
+        BalanceBook book = new BalanceBook(16);
+        book.credit("a", 5_000);
+
+        assertThrows(InsufficientBalanceException.class, () -> book.transfer("a", "b", 8_000));
+
+        assertEquals(5_000, book.balance("a"));
+        assertEquals(0, book.balance("b"));
+    }
+
+    @Test
+    void shouldConserveMoneyUnderOpposingConcurrentTransfers() throws Exception {
+        BalanceBook book = new BalanceBook(4);
+        book.credit("a", 100_000);
+        book.credit("b", 100_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    try {
+                        if (forward) {
+                            book.transfer("a", "b", 100);
+                        } else {
+                            book.transfer("b", "a", 100);
+                        }
+                    } catch (InsufficientBalanceException ignored) {
+                        // rejected legs leave both balances unchanged
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200_000, book.balance("a") + book.balance("b"));
+    }
+
+    @Test
+    void shouldRejectCreditThatOverflowsBalance() {
+        BalanceBook book = new BalanceBook(16);
+        book.credit("a", Long.MAX_VALUE - 10);
+
+        assertThrows(BalanceOverflowException.class, () -> book.credit("a", 11));
+
+        assertEquals(Long.MAX_VALUE - 10, book.balance("a"));
+    }
+
+    @Test
+    void shouldNotAllocateWhenUpdatingExistingAccounts() {
+        BalanceBook book = new BalanceBook(16);
+        String[] accounts = {"a", "b", "c", "d"};
+        for (String account : accounts) {
+            book.credit(account, 1_000_000);
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < 20_000; i++) {
+            book.transfer(accounts[i & 3], accounts[(i + 1) & 3], 1);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            book.credit(accounts[i & 3], 1);
+            book.debit(accounts[(i + 1) & 3], 1);
+            book.transfer(accounts[i & 3], accounts[(i + 2) & 3], 1);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1_024, "balance updates allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void shouldKeepBalanceWhenPromotedAndBorrowAcrossCells() {
+        BalanceBook book = new BalanceBook(16, 8);
+        book.credit("merchant", 1_000);
+        assertTrue(book.promote("merchant"));
+
+        for (int i = 0; i < 64; i++) {
+            assertEquals(BalanceBook.UNKNOWN, book.credit("merchant", 10));
+        }
+        assertEquals(1_640, book.balance("merchant"));
+
+        book.debit("merchant", 1_600);
+        assertEquals(40, book.balance("merchant"));
+        assertThrows(InsufficientBalanceException.class, () -> book.debit("merchant", 41));
+        assertEquals(40, book.balance("merchant"));
+    }
+
+    @Test
+    void shouldApplyBothLegsTogetherWhenOneSideIsHot() throws Exception {
+        BalanceBook book = new BalanceBook(4, 8);
+        book.credit("merchant", 100_000);
+        book.credit("customer", 100_000);
+        book.promote("merchant");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    try {
+                        if (forward) {
+                            book.transfer("merchant", "customer", 150);
+                        } else {
+                            book.transfer("customer", "merchant", 150);
+                        }
+                    } catch (InsufficientBalanceException ignored) {
+                        // rejected legs leave both balances unchanged
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200_000, book.balance("merchant") + book.balance("customer"));
+        assertTrue(book.balance("merchant") >= 0 && book.balance("customer") >= 0);
+    }
+
+    @Test
+    void shouldRestoreHotSourceWhenCreditLegOverflows() {
+        BalanceBook book = new BalanceBook(16, 4);
+        book.credit("merchant", 500);
+        book.promote("merchant");
+        book.credit("customer", Long.MAX_VALUE - 10);
+
+        assertThrows(BalanceOverflowException.class, () -> book.transfer("merchant", "customer", 100));
+
+        assertEquals(500, book.balance("merchant"));
+        assertEquals(Long.MAX_VALUE - 10, book.balance("customer"));
+    }
+
+    @Test
+    void shouldSettleBothLegsOfAReservedTransferTogether() {
+        BalanceBook book = new BalanceBook(16);
+        book.credit("a", 5_000);
+
+        book.reserveDebit("a", 3_000);
+        book.reserveCredit("b", 3_000);
+        assertThrows(InsufficientBalanceException.class, () -> book.reserveDebit("a", 2_001));
+        assertEquals(5_000, book.balance("a"));
+        assertEquals(0, book.balance("b"));
+
+        book.settleTransfer("a", "b", 3_000);
+
+        assertEquals(2_000, book.balance("a"));
+        assertEquals(3_000, book.balance("b"));
+        book.reserveDebit("a", 2_000);
+        book.releaseDebit("a", 2_000);
+        assertEquals(2_000, book.balance("a"));
+    }
+
+    @Test
+    void shouldReserveCreditHeadroomBeforeCommit() {
+        BalanceBook book = new BalanceBook(16);
+        book.credit("a", Long.MAX_VALUE - 10);
+
+        book.reserveCredit("a", 6);
+        assertThrows(BalanceOverflowException.class, () -> book.reserveCredit("a", 5));
+        assertThrows(BalanceOverflowException.class, () -> book.credit("a", 5));
+
+        book.settleCredit("a", 6);
+        assertEquals(Long.MAX_VALUE - 4, book.balance("a"));
+    }
+
+    @Test
+    void shouldCarryReservationsAcrossPromotion() {
+        BalanceBook book = new BalanceBook(16, 4);
+        book.credit("merchant", 1_000);
+        book.credit("customer", 1_000);
+        book.reserveDebit("merchant", 700);
+        book.reserveCredit("merchant", 200);
+        book.reserveDebit("customer", 200);
+
+        assertTrue(book.promote("merchant"));
+
+        assertEquals(1_000, book.balance("merchant"));
+        assertThrows(InsufficientBalanceException.class, () -> book.reserveDebit("merchant", 301));
+        book.settleDebit("merchant", 700);
+        book.settleTransfer("customer", "merchant", 200);
+        assertEquals(500, book.balance("merchant"));
+        assertEquals(800, book.balance("customer"));
+        book.debit("merchant", 500);
+        assertEquals(0, book.balance("merchant"));
+    }
+
+    @Test
+    void shouldApplyCompensatingDebitBeyondBalanceOnHotAccount() {
+        BalanceBook book = new BalanceBook(16, 4);
+        book.promote("merchant");
+        book.credit("merchant", 100);
+        book.debit("merchant", 80);
+
+        book.credit("merchant", -100);
+        assertEquals(-80, book.balance("merchant"));
+        assertThrows(InsufficientBalanceException.class, () -> book.debit("merchant", 1));
+
+        book.credit("merchant", 90);
+        book.debit("merchant", 10);
+        assertEquals(0, book.balance("merchant"));
+    }
+
+    @Test
+    void shouldConserveMoneyWhileAccountIsPromotedUnderLoad() throws Exception {
+        BalanceBook book = new BalanceBook(1, 8);
+        book.credit("customer", 8 * 20_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    book.transfer("customer", "merchant", 1);
+                    if (i % 4 == 0) {
+                        book.debit("merchant", 1);
+                    }
+                }
+            }));
+        }
+        while (!futures.stream().allMatch(Future::isDone)) {
+            book.promoteContended(1);
+            Thread.sleep(1);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        book.promote("merchant");
+
+        assertTrue(book.isHot("merchant"));
+        assertEquals(0, book.balance("customer"));
+        assertEquals(8 * 20_000 - 8 * 5_000, book.balance("merchant"));
+    }
+}
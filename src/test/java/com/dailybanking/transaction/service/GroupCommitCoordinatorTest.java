@@ -0,0 +1,76 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.DepositRequest;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitCoordinatorTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new GroupCommitCoordinator(transactionService, new TransactionMetrics(meterRegistry),
+                meterRegistry, true, 16, 1000, 0, 1, 20);
+        coordinator.start();
+    }
+
+    @Test
+    void shouldShedWritesWhenQueueStaysFull() throws Exception {
+        CompletableFuture<TransactionResponse> queued = CompletableFuture.supplyAsync(
+                () -> coordinator.deposit(deposit("key-1")));
+        while (meterRegistry.get("transaction.group.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> coordinator.deposit(deposit("key-2")));
+        assertEquals(1, meterRegistry.get("transaction.admission.rejected")
+                .tag("operation", "write")
+                .tag("reason", "queue")
+                .counter()
+                .count());
+
+        coordinator.stop();
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void shouldRejectWritesAfterShutdown() throws Exception {
+        coordinator.stop();
+
+        assertThrows(IllegalStateException.class, () -> coordinator.deposit(deposit("key-3")));
+        assertEquals(0, meterRegistry.get("transaction.group.queued").gauge().value());
+    }
+
+    private static DepositRequest deposit(String idempotencyKey) {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-queue");
+        request.setAmount(BigDecimal.TEN);
+        request.setCurrency("EUR");
+        request.setIdempotencyKey(idempotencyKey);
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionPage;
+import com.dailybanking.transaction.dto.TransactionResponse;
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentHistoryProjectionTest {
+
+    private final RecentHistoryProjection projection =
+            new RecentHistoryProjection(new SimpleMeterRegistry(), true, 8, 1_000_000);
+
+    @Test
+    void shouldServeNewestFirstOnceWritesFillThePage() {
+        Instant base = Instant.now().plusSeconds(60);
+        TransactionResponse second = response("acc-a", "acc-b", base.plusMillis(2));
+        TransactionResponse first = response("acc-a", null, base.plusMillis(1));
+        TransactionResponse third = response("acc-c", "acc-a", base.plusMillis(3));
+        projection.record(second);
+        projection.record(first);
+
+        assertNull(projection.firstPage("acc-a", 2));
+
+        projection.record(third);
+        projection.record(third);
+        TransactionPage page = projection.firstPage("acc-a", 2);
+
+        assertNotNull(page);
+        assertEquals(List.of(third.getTransactionId(), second.getTransactionId()), ids(page));
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldNotServeEntriesWrittenBeforeTheBufferExisted() {
+        Instant base = Instant.now();
+        projection.record(response("acc-a", null, base.minusSeconds(30)));
+        projection.record(response("acc-a", null, base.minusSeconds(20)));
+
+        assertNull(projection.firstPage("acc-a", 1));
+    }
+
+    @Test
+    void shouldServeShortHistoryOnlyWhenSeededExhaustively() {
+        Instant base = Instant.now().minusSeconds(60);
+        List<TransactionResponse> newest = List.of(
+                response("acc-a", null, base.plusMillis(2)),
+                response("acc-a", null, base.plusMillis(1)));
+
+        projection.seed("acc-a", 0, newest, false);
+        assertNull(projection.firstPage("acc-a", 5));
+
+        projection.seed("acc-a", projection.version("acc-a"), newest, true);
+        TransactionPage page = projection.firstPage("acc-a", 5);
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldDropOldestAndStopClaimingExhaustiveWhenFull() {
+        Instant base = Instant.now().minusSeconds(60);
+        List<TransactionResponse> newest = new ArrayList<>();
+        for (int i = 8; i > 0; i--) {
+            newest.add(response("acc-a", null, base.plusMillis(i)));
+        }
+        projection.seed("acc-a", 0, newest, true);
+        assertNull(projection.firstPage("acc-a", 8).getNextCursor());
+
+        TransactionResponse latest = response("acc-a", null, Instant.now().plusSeconds(60));
+        projection.record(latest);
+        TransactionPage page = projection.firstPage("acc-a", 7);
+
+        assertEquals(latest.getTransactionId(), ids(page).get(0));
+        assertFalse(ids(page).contains(newest.get(7).getTransactionId()));
+        assertNotNull(page.getNextCursor());
+        assertNull(projection.firstPage("acc-a", 8));
+    }
+
+    @Test
+    void shouldRejectSeedRacingAConcurrentWrite() {
+        long version = projection.version("acc-a");
+        TransactionResponse written = response("acc-a", null, Instant.now().plusSeconds(60));
+        projection.record(written);
+
+        projection.seed("acc-a", version, List.of(), true);
+
+        assertTrue(projection.version("acc-a") > version);
+        assertNull(projection.firstPage("acc-a", 1));
+        projection.record(response("acc-a", null, Instant.now().plusSeconds(61)));
+        assertEquals(1, projection.firstPage("acc-a", 1).getItems().size());
+    }
+
+    @Test
+    void shouldOnlyCoverPagesSmallerThanTheBuffer() {
+        assertTrue(projection.covers(7));
+        assertFalse(projection.covers(8));
+        assertFalse(new RecentHistoryProjection(new SimpleMeterRegistry(), false, 8, 1_000_000).covers(1));
+    }
+
+    private static List<String> ids(TransactionPage page) {
+        return page.getItems().stream().map(TransactionResponse::getTransactionId).toList();
+    }
+
+    private static TransactionResponse response(String sourceAccountId, String targetAccountId, Instant createdAt) {
+        TransactionResponse response = new TransactionResponse();
+        response.setTransactionId(TimeOrderedIds.next().toString());
+        response.setType(targetAccountId == null ? TransactionType.DEPOSIT : TransactionType.TRANSFER);
+        response.setStatus(TransactionStatus.COMPLETED);
+        response.setSourceAccountId(sourceAccountId);
+        response.setTargetAccountId(targetAccountId);
+        response.setAmount(BigDecimal.TEN);
+        response.setCurrency("EUR");
+        response.setCreatedAt(createdAt);
+        response.setCompletedAt(createdAt);
+        return response;
+    }
+}
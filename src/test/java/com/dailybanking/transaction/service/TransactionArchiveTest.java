@@ -0,0 +1,161 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.model.TimeOrderedIds;
+import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRoundTripEveryColumnThroughASegment() throws IOException {
+        List<Transaction> transactions = transactions(500, Instant.now().minus(400, ChronoUnit.DAYS));
+        Collections.shuffle(transactions, new Random(7));
+        TransactionArchive archive = archive();
+        archive.append(transactions);
+
+        for (Transaction expected : transactions) {
+            Transaction actual = archive.findById(expected.getId()).orElseThrow();
+            assertEquals(expected.getIdempotencyKey(), actual.getIdempotencyKey());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getSourceAccountId(), actual.getSourceAccountId());
+            assertEquals(expected.getTargetAccountId(), actual.getTargetAccountId());
+            assertEquals(0, expected.getAmount().compareTo(actual.getAmount()));
+            assertEquals(expected.getCurrency(), actual.getCurrency());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(0, expected.getSourceBalanceAfter().compareTo(actual.getSourceBalanceAfter()));
+            assertEquals(expected.getTargetBalanceAfter() == null, actual.getTargetBalanceAfter() == null);
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            assertEquals(expected.getCompletedAt(), actual.getCompletedAt());
+        }
+        assertTrue(archive.findById(TimeOrderedIds.next()).isEmpty());
+    }
+
+    @Test
+    void shouldPageAccountHistoryNewestFirstAcrossSegments() throws IOException {
+        Instant base = Instant.now().minus(400, ChronoUnit.DAYS);
+        List<Transaction> transactions = transactions(300, base);
+        TransactionArchive archive = archive();
+        archive.append(transactions.subList(0, 100));
+        archive.append(transactions.subList(100, 300));
+
+        List<Transaction> expected = transactions.stream()
+                .filter(transaction -> "acc-1".equals(transaction.getSourceAccountId())
+                        || "acc-1".equals(transaction.getTargetAccountId()))
+                .sorted((left, right) -> right.getCreatedAt().compareTo(left.getCreatedAt()))
+                .toList();
+        List<Transaction> paged = new ArrayList<>();
+        Instant beforeCreatedAt = null;
+        UUID beforeId = null;
+        while (true) {
+            List<Transaction> page = archive.findByAccount("acc-1", beforeCreatedAt, beforeId, 9);
+            paged.addAll(page);
+            if (page.size() < 9) {
+                break;
+            }
+            Transaction last = page.get(page.size() - 1);
+            beforeCreatedAt = last.getCreatedAt();
+            beforeId = last.getId();
+        }
+
+        assertEquals(expected.stream().map(Transaction::getId).toList(), paged.stream().map(Transaction::getId).toList());
+        assertEquals(expected.get(0).getId(), archive.findLatest("acc-1", Instant.now()).orElseThrow().getId());
+        assertTrue(archive.findByAccount("acc-unknown", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void shouldTrackNetDeltasPerAccountAndReopenFromDisk() throws IOException {
+        List<Transaction> transactions = transactions(200, Instant.now().minus(400, ChronoUnit.DAYS));
+        TransactionArchive archive = archive();
+        archive.append(transactions);
+
+        long expected = 0L;
+        for (Transaction transaction : transactions) {
+            long amount = MinorUnits.toMinor(transaction.getAmount());
+            if (transaction.getType() == TransactionType.DEPOSIT && "acc-2".equals(transaction.getSourceAccountId())) {
+                expected += amount;
+            } else if ("acc-2".equals(transaction.getSourceAccountId())) {
+                expected -= amount;
+            } else if ("acc-2".equals(transaction.getTargetAccountId())) {
+                expected += amount;
+            }
+        }
+        assertEquals(expected, archive.netDelta("acc-2"));
+        assertEquals(0L, archive.netDelta("acc-unknown"));
+
+        TransactionArchive reopened = archive();
+        reopened.load();
+
+        assertEquals(expected, reopened.netDelta("acc-2"));
+        assertEquals(transactions.get(199).getCreatedAt(), reopened.newestArchived());
+        assertTrue(reopened.contains(transactions.get(42).getId()));
+    }
+
+    @Test
+    void shouldCompressSegmentsWellBelowTheirRowSize() throws IOException {
+        TransactionArchive archive = archive();
+        assertNull(archive.newestArchived());
+
+        archive.append(transactions(5_000, Instant.now().minus(400, ChronoUnit.DAYS)));
+
+        long bytes;
+        try (var files = Files.list(directory)) {
+            bytes = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        assertTrue(bytes < 5_000L * 100, "segment was " + bytes + " bytes");
+    }
+
+    private TransactionArchive archive() {
+        return new TransactionArchive(new SimpleMeterRegistry(), directory.toString(), 64);
+    }
+
+    private static List<Transaction> transactions(int count, Instant base) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(TimeOrderedIds.next());
+            transaction.setIdempotencyKey(UUID.randomUUID().toString());
+            transaction.setStatus(TransactionStatus.COMPLETED);
+            transaction.setSourceAccountId("acc-" + (i % 7));
+            transaction.setAmount(BigDecimal.valueOf(100 + i, 2));
+            transaction.setCurrency("EUR");
+            transaction.setSourceBalanceAfter(BigDecimal.valueOf(10_000 + i, 2));
+            if (i % 3 == 0) {
+                transaction.setType(TransactionType.TRANSFER);
+                transaction.setTargetAccountId("acc-" + ((i + 1) % 7));
+                transaction.setTargetBalanceAfter(BigDecimal.valueOf(20_000 + i, 2));
+            } else {
+                transaction.setType(i % 3 == 1 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL);
+                transaction.setDescription(i % 2 == 0 ? "payment " + i : null);
+            }
+            Instant createdAt = base.plusMillis(i).truncatedTo(ChronoUnit.MICROS);
+            transaction.setCreatedAt(createdAt);
+            transaction.setCompletedAt(createdAt);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
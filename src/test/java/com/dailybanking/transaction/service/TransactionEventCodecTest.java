@@ -0,0 +1,102 @@
+package com.dailybanking.transaction.service;
+
+import com.dailybanking.transaction.dto.TransactionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionEventCodecTest {
+
+    private final BinaryTransactionEventSerializer serializer = new BinaryTransactionEventSerializer();
+    private final BinaryTransactionEventDeserializer deserializer = new BinaryTransactionEventDeserializer();
+
+    @Test
+    void shouldRoundTripTransferDebit() {
+        TransactionEvent event = event();
+
+        TransactionEvent decoded = deserializer.deserialize("events", serializer.serialize("events", event));
+
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(event.getEventType(), decoded.getEventType());
+        assertEquals(event.getTransactionId(), decoded.getTransactionId());
+        assertEquals(event.getAccountId(), decoded.getAccountId());
+        assertEquals(TransactionOutbox.DEBIT, decoded.getEntryType());
+        assertEquals(4_096L, decoded.getAccountSequence());
+        assertEquals(new BigDecimal("874.50"), decoded.getBalanceAfter());
+        assertEquals(event.getSourceAccountId(), decoded.getSourceAccountId());
+        assertEquals(event.getTargetAccountId(), decoded.getTargetAccountId());
+        assertEquals(new BigDecimal("125.50"), decoded.getAmount());
+        assertEquals("EUR", decoded.getCurrency());
+        assertEquals(event.getOccurredAt(), decoded.getOccurredAt());
+    }
+
+    @Test
+    void shouldRoundTripNullsAndValuesOutsideTheCompactEncoding() {
+        TransactionEvent event = new TransactionEvent();
+        event.setEventId("not-a-uuid");
+        event.setTransactionId(UUID.randomUUID().toString().toUpperCase());
+        event.setAmount(new BigDecimal("-123456789012345678901234.56"));
+        event.setBalanceAfter(new BigDecimal("1E+3"));
+
+        TransactionEvent decoded = TransactionEventCodec.decode(TransactionEventCodec.encode(event));
+
+        assertEquals("not-a-uuid", decoded.getEventId());
+        assertEquals(event.getTransactionId(), decoded.getTransactionId());
+        assertEquals(event.getAmount(), decoded.getAmount());
+        assertEquals(event.getBalanceAfter(), decoded.getBalanceAfter());
+        assertNull(decoded.getEventType());
+        assertNull(decoded.getEntryType());
+        assertNull(decoded.getTargetAccountId());
+        assertNull(decoded.getOccurredAt());
+    }
+
+    @Test
+    void shouldBeSmallerThanJsonAndStillReadJsonRecords() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TransactionEvent event = event();
+        byte[] json = objectMapper.writeValueAsBytes(event);
+        byte[] binary = TransactionEventCodec.encode(event);
+
+        assertTrue(binary.length * 2 < json.length, binary.length + " vs " + json.length);
+        assertEquals(event.getEventId(), deserializer.deserialize("events", json).getEventId());
+    }
+
+    @Test
+    void shouldRejectUnknownVersionsAndTruncatedRecords() {
+        byte[] binary = TransactionEventCodec.encode(event());
+        byte[] future = binary.clone();
+        future[1] = (byte) (TransactionEventCodec.VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("events", future));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("events", Arrays.copyOf(binary, binary.length / 2)));
+    }
+
+    private static TransactionEvent event() {
+        TransactionEvent event = new TransactionEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType("transaction.completed");
+        event.setTransactionId(UUID.randomUUID().toString());
+        event.setAccountId("acc-source");
+        event.setEntryType(TransactionOutbox.DEBIT);
+        event.setAccountSequence(4_096L);
+        event.setBalanceAfter(new BigDecimal("874.50"));
+        event.setSourceAccountId("acc-source");
+        event.setTargetAccountId("acc-target");
+        event.setAmount(new BigDecimal("125.50"));
+        event.setCurrency("EUR");
+        event.setOccurredAt(Instant.parse("2024-05-01T17:00:00.123456Z"));
+        return event;
+    }
+}
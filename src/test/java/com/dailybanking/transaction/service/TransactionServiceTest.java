@@ -1,27 +1,45 @@
 package com.dailybanking.transaction.service;
 
+import com.dailybanking.transaction.dto.BatchItemResult;
+import com.dailybanking.transaction.dto.BatchTransactionItem;
+import com.dailybanking.transaction.dto.BatchTransactionRequest;
 import com.dailybanking.transaction.dto.DepositRequest;
-import com.dailybanking.transaction.dto.TransactionEvent;
 import com.dailybanking.transaction.dto.TransferRequest;
 import com.dailybanking.transaction.exception.DuplicateTransactionException;
 import com.dailybanking.transaction.exception.InsufficientBalanceException;
+import com.dailybanking.transaction.model.TimeOrderedIds;
 import com.dailybanking.transaction.model.Transaction;
+import com.dailybanking.transaction.model.TransactionStatus;
+import com.dailybanking.transaction.model.TransactionType;
 import com.dailybanking.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,21 +50,56 @@ class TransactionServiceTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private KafkaTemplate<String, TransactionEvent> kafkaTemplate;
+    private TransactionOutbox transactionOutbox;
+
+    @Mock
+    private BalanceLedger balanceLedger;
+
+    @Mock
+    private BalancePosting balancePosting;
+
+    @Mock
+    private DailyAggregateService dailyAggregates;
+
+    @Mock
+    private TransactionArchive archive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private AccountService accountService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @InjectMocks
     private TransactionService transactionService;
 
     @BeforeEach
     void setup() {
-        accountService = new AccountService();
+        accountService = new AccountService(balanceLedger, 64, 4);
+        meterRegistry = new SimpleMeterRegistry();
         transactionService = new TransactionService(
                 transactionRepository,
                 accountService,
-                kafkaTemplate,
-                "banking.transaction.events");
+                balancePosting,
+                transactionOutbox,
+                new IdempotencyGuard(transactionRepository, new SimpleMeterRegistry(),
+                        1_000, 60, true, 1_000, 0.01, 100),
+                new TransactionResponseCache(new SimpleMeterRegistry(), 1_000_000, 60),
+                new TransactionMetrics(meterRegistry),
+                new ReadYourWrites(new SimpleMeterRegistry(), false, 5_000, 1_000),
+                dailyAggregates,
+                new RecentHistoryProjection(new SimpleMeterRegistry(), true, 64, 1_000_000),
+                archive,
+                transactionManager);
+        lenient().doAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> {
+                transaction.setId(TimeOrderedIds.next());
+                transaction.setCreatedAt(Instant.now());
+            });
+            return null;
+        }).when(balancePosting).post(anyList());
     }
 
     @Test
@@ -63,7 +116,7 @@ class TransactionServiceTest {
         var response = transactionService.deposit(request);
 
         assertEquals(BigDecimal.valueOf(120), response.getAmount());
-        verify(kafkaTemplate).send(anyString(), anyString(), any());
+        verify(transactionOutbox).enqueue(any(Transaction.class), eq("transaction.completed"));
     }
 
     @Test
@@ -79,6 +132,63 @@ class TransactionServiceTest {
         assertThrows(DuplicateTransactionException.class, () -> transactionService.deposit(request));
     }
 
+    @Test
+    void shouldReplayOriginalResponseForRetriedRequest() {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-retry");
+        request.setAmount(BigDecimal.valueOf(25));
+        request.setCurrency("EUR");
+        request.setIdempotencyKey("dep-retry");
+
+        when(transactionRepository.findByIdempotencyKey("dep-retry")).thenReturn(Optional.empty());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var first = transactionService.deposit(request);
+        var retried = transactionService.deposit(request);
+
+        assertSame(first, retried);
+        assertEquals(BigDecimal.valueOf(2500, 2), accountService.getBalance("acc-retry"));
+        verify(transactionRepository, times(1)).findByIdempotencyKey("dep-retry");
+    }
+
+    @Test
+    void shouldServeCompletedTransactionFromCacheAfterWrite() {
+        DepositRequest request = new DepositRequest();
+        request.setAccountId("acc-cache");
+        request.setAmount(BigDecimal.valueOf(15));
+        request.setCurrency("EUR");
+        request.setIdempotencyKey("dep-cache");
+
+        when(transactionRepository.findByIdempotencyKey("dep-cache")).thenReturn(Optional.empty());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var created = transactionService.deposit(request);
+        var fetched = transactionService.getById(created.getTransactionId());
+
+        assertSame(created, fetched);
+        verify(transactionRepository, never()).findById(any(UUID.class));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void shouldLoadUncachedTransactionInReadOnlyTransaction() {
+        Transaction stored = new Transaction();
+        stored.setId(TimeOrderedIds.next());
+        stored.setIdempotencyKey("stored");
+        stored.setType(TransactionType.DEPOSIT);
+        stored.setStatus(TransactionStatus.COMPLETED);
+        stored.setSourceAccountId("acc-stored");
+        stored.setAmount(BigDecimal.TEN);
+        stored.setCurrency("EUR");
+        stored.setCreatedAt(Instant.now());
+        when(transactionRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        var fetched = transactionService.getById(stored.getId().toString());
+
+        assertEquals(stored.getId().toString(), fetched.getTransactionId());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
     @Test
     void shouldFailTransferWhenBalanceIsInsufficient() {
         TransferRequest request = new TransferRequest();
@@ -92,5 +202,78 @@ class TransactionServiceTest {
         when(transactionRepository.findByIdempotencyKey("tx-1")).thenReturn(Optional.empty());
 
         assertThrows(InsufficientBalanceException.class, () -> transactionService.transfer(request));
+        assertEquals(1.0, meterRegistry.get("transaction.rejected")
+                .tags("operation", "transfer", "reason", "insufficient_balance").counter().count());
+        assertEquals(1L, meterRegistry.get("transaction.stage")
+                .tags("operation", "transfer", "stage", "balance", "outcome", "failure").timer().count());
+        assertEquals(0L, meterRegistry.get("transaction.stage")
+                .tags("operation", "transfer", "stage", "persist", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void shouldReportRejectedBatchItemsWithoutFailingTheBatch() {
+        BatchTransactionRequest request = new BatchTransactionRequest();
+        request.setItems(List.of(
+                batchItem(TransactionType.DEPOSIT, "acc-b1", null, 100, "b-1"),
+                batchItem(TransactionType.WITHDRAWAL, "acc-b2", null, 50, "b-2"),
+                batchItem(TransactionType.TRANSFER, "acc-b1", "acc-b2", 40, "b-3"),
+                batchItem(TransactionType.DEPOSIT, "acc-b1", null, 10, "b-3")));
+
+        when(transactionRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(Set.of());
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = transactionService.submitBatch(request);
+
+        assertEquals(2, response.getCompleted());
+        assertEquals(2, response.getRejected());
+        assertEquals(BatchItemResult.Outcome.COMPLETED, response.getResults().get(0).getOutcome());
+        assertEquals("INSUFFICIENT_BALANCE", response.getResults().get(1).getError());
+        assertEquals(BatchItemResult.Outcome.COMPLETED, response.getResults().get(2).getOutcome());
+        assertEquals("DUPLICATE_TRANSACTION", response.getResults().get(3).getError());
+        assertEquals(BigDecimal.valueOf(6000, 2), accountService.getBalance("acc-b1"));
+    }
+
+    @Test
+    void shouldReplayBatchItemsWhoseKeyWasAlreadyProcessed() {
+        Transaction stored = new Transaction();
+        stored.setId(TimeOrderedIds.next());
+        stored.setIdempotencyKey("r-1");
+        stored.setType(TransactionType.DEPOSIT);
+        stored.setStatus(TransactionStatus.COMPLETED);
+        stored.setSourceAccountId("acc-r1");
+        stored.setAmount(BigDecimal.valueOf(100));
+        stored.setCurrency("EUR");
+        stored.setCreatedAt(Instant.now());
+        BatchTransactionRequest request = new BatchTransactionRequest();
+        request.setItems(List.of(
+                batchItem(TransactionType.DEPOSIT, "acc-r1", null, 100, "r-1"),
+                batchItem(TransactionType.DEPOSIT, "acc-r2", null, 30, "r-2"),
+                batchItem(TransactionType.DEPOSIT, "acc-r2", null, 30, "r-2")));
+
+        when(transactionRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(Set.of("r-1"));
+        when(transactionRepository.findByIdempotencyKey("r-1")).thenReturn(Optional.of(stored));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = transactionService.submitBatch(request);
+
+        assertEquals(3, response.getCompleted());
+        assertEquals(stored.getId().toString(), response.getResults().get(0).getTransaction().getTransactionId());
+        assertSame(response.getResults().get(1).getTransaction(), response.getResults().get(2).getTransaction());
+        assertEquals(BigDecimal.valueOf(3000, 2), accountService.getBalance("acc-r2"));
+    }
+
+    private BatchTransactionItem batchItem(TransactionType type,
+                                           String accountId,
+                                           String targetAccountId,
+                                           long amount,
+                                           String idempotencyKey) {
+        BatchTransactionItem item = new BatchTransactionItem();
+        item.setType(type);
+        item.setAccountId(accountId);
+        item.setTargetAccountId(targetAccountId);
+        item.setAmount(BigDecimal.valueOf(amount));
+        item.setCurrency("EUR");
+        item.setIdempotencyKey(idempotencyKey);
+        return item;
     }
 }